@@ -1,7 +1,7 @@
 CREATE EXTENSION IF NOT EXISTS "pgcrypto";
 CREATE EXTENSION IF NOT EXISTS "citext";
 
-CREATE TYPE gender_types AS ENUM ('MALE', 'FEMALE', 'NON-BINARY', 'PREFER NOT TO SAY');
+CREATE TYPE gender_types AS ENUM ('MALE', 'FEMALE', 'NON_BINARY', 'PREFER_NOT_TO_SAY');
 CREATE TYPE client_status_types AS ENUM ('PENDING', 'ACTIVE', 'INACTIVE');
 CREATE TABLE client_profile (
     client_id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
@@ -26,7 +26,7 @@ CREATE TABLE client_profile (
     CHECK (
         email_address ~* '^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\.[A-Za-z]{2,}$'
     ),
-    phone_number VARCHAR(16) NOT NULL UNIQUE
+    phone_number VARCHAR(16) NOT NULL
     CHECK (
         phone_number ~ '^\+[0-9]{10,15}$'
     ),
@@ -51,9 +51,14 @@ CREATE TABLE client_profile (
         char_length(postal_code) BETWEEN 4 AND 10
     ),
     status client_status_types NOT NULL,
-    agent_id VARCHAR(36) NOT NULL
+    agent_id VARCHAR(36) NOT NULL,
+    -- Named so the service can map a violation back to the offending field
+    CONSTRAINT uk_client_profile_email_address UNIQUE (email_address),
+    CONSTRAINT uk_client_profile_phone_number UNIQUE (phone_number)
 );
 
+-- Indexes and later schema changes come from the Flyway migrations in src/main/resources/db/migration
+
 INSERT INTO client_profile (
   client_id, first_name, last_name, date_of_birth, gender,
   email_address, phone_number, address, city, state, country, postal_code, status, agent_id
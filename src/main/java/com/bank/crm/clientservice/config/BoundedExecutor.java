@@ -0,0 +1,76 @@
+package com.bank.crm.clientservice.config;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs each task on its own virtual thread, with at most maxConcurrency running at once; further
+ * submitters block until a slot frees up, so a burst turns into backpressure on the caller instead
+ * of thousands of threads queueing on a connection pool. The caller-runs variant keeps the
+ * platform-thread behaviour of running the task inline.
+ */
+public final class BoundedExecutor implements Executor, AutoCloseable {
+
+    private final ExecutorService virtualThreads;
+    private final Semaphore permits;
+
+    private BoundedExecutor(ExecutorService virtualThreads, int maxConcurrency) {
+        this.virtualThreads = virtualThreads;
+        this.permits = new Semaphore(maxConcurrency, true);
+    }
+
+    public static BoundedExecutor virtualThreads(String namePrefix, int maxConcurrency) {
+        return new BoundedExecutor(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(namePrefix, 0).factory()),
+                maxConcurrency);
+    }
+
+    public static BoundedExecutor callerRuns() {
+        return new BoundedExecutor(null, 1);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (virtualThreads == null) {
+            task.run();
+            return;
+        }
+        permits.acquireUninterruptibly();
+        try {
+            virtualThreads.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Run the tasks, concurrently when on virtual threads, and return once all of them finished
+     */
+    public void runAll(Collection<Runnable> tasks) {
+        CompletableFuture.allOf(tasks.stream()
+                        .map(task -> CompletableFuture.runAsync(task, this))
+                        .toArray(CompletableFuture[]::new))
+                .join();
+    }
+
+    /**
+     * Wait for submitted tasks to finish; nothing new is accepted afterwards
+     */
+    @Override
+    public void close() {
+        if (virtualThreads != null) {
+            virtualThreads.close();
+        }
+    }
+}
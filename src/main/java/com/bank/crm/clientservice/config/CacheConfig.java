@@ -0,0 +1,13 @@
+package com.bank.crm.clientservice.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Turns on Spring Boot's cache auto-configuration. The backing store is picked by
+ * spring.cache.type (caffeine, or none to switch caching off).
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
@@ -0,0 +1,87 @@
+package com.bank.crm.clientservice.config;
+
+import io.grpc.BindableService;
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves every {@link BindableService} bean over gRPC (HTTP/2) on its own port, next to the REST
+ * API. Set grpc.server.enabled=false to run without it.
+ */
+@Configuration
+@ConditionalOnProperty(name = "grpc.server.enabled", havingValue = "true", matchIfMissing = true)
+public class GrpcServerConfig {
+
+    @Bean
+    public GrpcServerLifecycle grpcServer(List<BindableService> services,
+                                          @Value("${grpc.server.port:9090}") int port,
+                                          @Value("${grpc.server.shutdown-grace-period-seconds:10}") long shutdownGraceSeconds) {
+        NettyServerBuilder builder = NettyServerBuilder.forPort(port);
+        services.forEach(builder::addService);
+        return new GrpcServerLifecycle(builder.build(), shutdownGraceSeconds);
+    }
+
+    /**
+     * Starts the server once the context is refreshed and, on shutdown, lets in-flight calls finish
+     * for the grace period before cancelling the rest, ahead of the beans those calls use
+     */
+    public static class GrpcServerLifecycle implements SmartLifecycle {
+
+        private static final Logger logger = LoggerFactory.getLogger(GrpcServerLifecycle.class);
+
+        private final Server server;
+        private final long shutdownGraceSeconds;
+        private volatile boolean running;
+
+        GrpcServerLifecycle(Server server, long shutdownGraceSeconds) {
+            this.server = server;
+            this.shutdownGraceSeconds = shutdownGraceSeconds;
+        }
+
+        @Override
+        public void start() {
+            try {
+                server.start();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to start gRPC server", e);
+            }
+            running = true;
+            logger.info("gRPC server started on port {}", server.getPort());
+        }
+
+        @Override
+        public void stop() {
+            server.shutdown();
+            try {
+                if (!server.awaitTermination(shutdownGraceSeconds, TimeUnit.SECONDS)) {
+                    server.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                server.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+            running = false;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return running;
+        }
+
+        public int getPort() {
+            return server.getPort();
+        }
+    }
+}
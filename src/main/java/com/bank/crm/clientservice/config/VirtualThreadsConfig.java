@@ -0,0 +1,42 @@
+package com.bank.crm.clientservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Virtual-thread mode, switched on with spring.threads.virtual.enabled=true. Spring Boot then runs
+ * Tomcat requests and @Async/@Scheduled work on virtual threads; the audit outbox relay and the
+ * verification workers here do the same. Since virtual threads are not a limit in themselves,
+ * request and worker concurrency is capped relative to the Hikari pool, the resource they would
+ * otherwise all queue on. Off by default, where all of it runs on platform threads.
+ */
+@Configuration
+public class VirtualThreadsConfig {
+
+    @Bean(destroyMethod = "close")
+    public BoundedExecutor verificationWorkerExecutor(Environment environment,
+                                                      @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        // Leave half the pool to request handling
+        return Threading.VIRTUAL.isActive(environment)
+                ? BoundedExecutor.virtualThreads("verification-worker-", Math.max(1, poolSize / 2))
+                : BoundedExecutor.callerRuns();
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            Environment environment,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${virtual-threads.requests-per-connection:4}") int requestsPerConnection,
+            @Value("${virtual-threads.request-queue-timeout-ms:2000}") long queueTimeoutMs) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(poolSize * requestsPerConnection, queueTimeoutMs));
+        // Platform threads are already capped by Tomcat's pool
+        registration.setEnabled(Threading.VIRTUAL.isActive(environment));
+        registration.addUrlPatterns("/client-profile/*", "/client-profile");
+        return registration;
+    }
+}
@@ -1,20 +1,34 @@
 package com.bank.crm.clientservice.controllers;
 
 import com.bank.crm.clientservice.dto.*;
+import com.bank.crm.clientservice.exceptions.BatchSizeExceededException;
 import com.bank.crm.clientservice.exceptions.ClientNotFoundException;
 import com.bank.crm.clientservice.exceptions.ClientNotPendingException;
+import com.bank.crm.clientservice.exceptions.ClientProfileConflictException;
+import com.bank.crm.clientservice.exceptions.ClientProfileVersionMismatchException;
+import com.bank.crm.clientservice.exceptions.ImportJobNotFoundException;
+import com.bank.crm.clientservice.exceptions.ImportTooLargeException;
+import com.bank.crm.clientservice.exceptions.InvalidSearchQueryException;
 import com.bank.crm.clientservice.exceptions.NonUniqueFieldException;
-import com.bank.crm.clientservice.models.ClientProfile;
+import com.bank.crm.clientservice.services.ClientProfileExportService;
+import com.bank.crm.clientservice.services.ClientProfileImportService;
 import com.bank.crm.clientservice.services.ClientProfileService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
@@ -24,6 +38,8 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class ClientProfileController {
     private final ClientProfileService clientProfileService;
+    private final ClientProfileExportService clientProfileExportService;
+    private final ClientProfileImportService clientProfileImportService;
 
     @PostMapping
     public ResponseEntity<ClientProfileResponse> createClient(
@@ -34,14 +50,41 @@ public class ClientProfileController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<List<ClientProfileBulkResult>> createClients(
+            @RequestBody List<ClientProfileCreateRequest> clientProfileCreateRequests,
+            @RequestHeader(value = "X-User-Id", required = false, defaultValue = "SYSTEM") String userId
+    ) {
+        List<ClientProfileBulkResult> results = clientProfileService.createClientProfiles(clientProfileCreateRequests, userId);
+        return ResponseEntity.ok(results);
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ClientProfileImportJob> importClients(
+            InputStream csv,
+            @RequestHeader(value = "X-User-Id", required = false, defaultValue = "SYSTEM") String userId
+    ) throws IOException {
+        ClientProfileImportJob job = clientProfileImportService.startImport(csv, userId);
+        return ResponseEntity.accepted().body(job);
+    }
+
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<ClientProfileImportJob> getImportJob(@PathVariable UUID jobId) {
+        ClientProfileImportJob job = clientProfileImportService.getImportJob(jobId);
+        return ResponseEntity.ok(job);
+    }
+
     @PutMapping("/{clientId}")
     public ResponseEntity<ClientProfileResponse> updateClientProfile(
             @PathVariable UUID clientId,
             @Valid @RequestBody ClientProfileUpdateRequest clientProfileUpdateRequest,
-            @RequestHeader(value = "X-User-Id", required = false, defaultValue = "SYSTEM") String userId
+            @RequestHeader(value = "X-User-Id", required = false, defaultValue = "SYSTEM") String userId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        ClientProfileResponse updatedClient = clientProfileService.updateClientProfile(clientId, clientProfileUpdateRequest, userId);
-        return ResponseEntity.ok(updatedClient);
+        ClientProfileResponse updatedClient = clientProfileService.updateClientProfile(
+                clientId, clientProfileUpdateRequest, userId, expectedVersion(clientId, ifMatch));
+        return withValidators(ResponseEntity.ok(), updatedClient.getVersion(), updatedClient.getUpdatedAt())
+                .body(updatedClient);
     }
 
     @PostMapping("/{clientId}/verify")
@@ -77,20 +120,66 @@ public class ClientProfileController {
 
 
     @GetMapping("/{clientId}")
-    public ResponseEntity<ClientProfile> getClientProfile(@Valid @PathVariable UUID clientId) {
-        ClientProfile clientProfile = clientProfileService.getClientProfile(clientId);
-        return ResponseEntity.ok(clientProfile);
+    public ResponseEntity<ClientProfileResponse> getClientProfile(
+            @Valid @PathVariable UUID clientId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        if (ifNoneMatch != null) {
+            // Settled from the version alone, so polling an unchanged profile loads and serialises nothing
+            ClientProfileVersion current = clientProfileService.getClientProfileVersion(clientId);
+            ETag currentTag = eTag(current.getVersion());
+            if (ETag.parse(ifNoneMatch).stream().anyMatch(tag -> tag.isWildcard() || tag.compare(currentTag, false))) {
+                return withValidators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), current.getVersion(),
+                        current.getUpdatedAt()).build();
+            }
+        }
+
+        // Any If-Modified-Since is checked by Spring against the Last-Modified set here
+        ClientProfileResponse clientProfile = clientProfileService.getClientProfile(clientId);
+        return withValidators(ResponseEntity.ok(), clientProfile.getVersion(), clientProfile.getUpdatedAt())
+                .body(clientProfile);
     }
 
     @GetMapping
-    public ResponseEntity<List<ClientProfile>> getAllClientProfiles() {
-        List<ClientProfile> clientProfiles = clientProfileService.getAllClientProfiles();
-        return ResponseEntity.ok(clientProfiles);
+    public ResponseEntity<ClientProfilePage> getAllClientProfiles(
+            @RequestParam(required = false) UUID after,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        ClientProfilePage page = clientProfileService.getClientProfilePage(after, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ClientProfileSearchPage> searchClientProfiles(
+            @RequestParam String q,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        ClientProfileSearchPage page = clientProfileService.searchClientProfiles(q, after, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ClientNameSuggestion>> suggestClientNames(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestHeader(value = "X-User-Id", required = false, defaultValue = "SYSTEM") String userId
+    ) {
+        List<ClientNameSuggestion> suggestions = clientProfileService.suggestClientNames(userId, prefix, limit);
+        return ResponseEntity.ok(suggestions);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportClientProfiles() {
+        StreamingResponseBody body = clientProfileExportService::exportClientProfiles;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @PostMapping("/batch")
-    public ResponseEntity<List<ClientProfile>> getClientProfiles(String userId) {
-        List<ClientProfile> clientProfiles = clientProfileService.getClientProfiles(userId);
+    public ResponseEntity<List<ClientProfileResponse>> getClientProfiles(String userId) {
+        List<ClientProfileResponse> clientProfiles = clientProfileService.getClientProfiles(userId);
         return ResponseEntity.ok(clientProfiles);
     }
 
@@ -99,11 +188,41 @@ public class ClientProfileController {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
     }
 
+    @ExceptionHandler(ClientProfileVersionMismatchException.class)
+    public ResponseEntity<String> handleVersionMismatch(ClientProfileVersionMismatchException ex) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(ClientProfileConflictException.class)
+    public ResponseEntity<String> handleConflict(ClientProfileConflictException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(ImportJobNotFoundException.class)
+    public ResponseEntity<String> handleImportJobNotFound(ImportJobNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(ImportTooLargeException.class)
+    public ResponseEntity<String> handleImportTooLarge(ImportTooLargeException ex) {
+        return ResponseEntity.status(HttpStatus.CONTENT_TOO_LARGE).body(ex.getMessage());
+    }
+
     @ExceptionHandler(NonUniqueFieldException.class)
     public ResponseEntity<List<String>> handleInvalidInput(NonUniqueFieldException ex) {
         return ResponseEntity.badRequest().body(Arrays.asList(ex.getInvalidFields()));
     }
 
+    @ExceptionHandler(BatchSizeExceededException.class)
+    public ResponseEntity<String> handleBatchSizeExceeded(BatchSizeExceededException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidSearchQueryException.class)
+    public ResponseEntity<String> handleInvalidSearchQuery(InvalidSearchQueryException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<List<String>> handleBeanValidationException(MethodArgumentNotValidException ex) {
         List<String> errors = ex.getBindingResult()
@@ -114,11 +233,16 @@ public class ClientProfileController {
         return ResponseEntity.badRequest().body(errors);
     }
 
+    /**
+     * Names the offending path variable or query parameter, e.g. "Client Id should be of type UUID"
+     * or "Limit should be of type int"
+     */
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
     public ResponseEntity<String> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        String type = ex.getRequiredType() == null ? "value" : ex.getRequiredType().getSimpleName();
         return ResponseEntity
                 .badRequest()
-                .body("Client Id should be of type UUID");
+                .body(parameterLabel(ex.getName()) + " should be of type " + type);
     }
 
     @ExceptionHandler(ClientNotPendingException.class)
@@ -128,4 +252,45 @@ public class ClientProfileController {
                 .body(ex.getMessage());
     }
 
+    // "clientId" -> "Client Id"
+    private static String parameterLabel(String name) {
+        String words = name.replaceAll("([a-z0-9])([A-Z])", "$1 $2");
+        return Character.toUpperCase(words.charAt(0)) + words.substring(1);
+    }
+
+    private static ETag eTag(long version) {
+        return new ETag(Long.toString(version), false);
+    }
+
+    private static <B extends ResponseEntity.HeadersBuilder<B>> B withValidators(B builder, Long version, Instant updatedAt) {
+        if (version != null) {
+            builder.eTag(eTag(version).formattedTag());
+        }
+        if (updatedAt != null) {
+            builder.lastModified(updatedAt);
+        }
+        return builder;
+    }
+
+    /**
+     * The version an If-Match header pins an update to, or null when it is absent or "*". Anything
+     * other than one strong tag of ours can never match, so it fails the precondition outright.
+     */
+    private static Long expectedVersion(UUID clientId, String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+        List<ETag> tags = ETag.parse(ifMatch);
+        if (tags.size() == 1 && tags.get(0).isWildcard()) {
+            return null;
+        }
+        if (tags.size() == 1 && !tags.get(0).weak()) {
+            try {
+                return Long.parseLong(tags.get(0).tag());
+            } catch (NumberFormatException e) {
+                // Not a tag this service issued
+            }
+        }
+        throw new ClientProfileVersionMismatchException(clientId);
+    }
 }
@@ -0,0 +1,180 @@
+package com.bank.crm.clientservice.controllers;
+
+import com.bank.crm.clientservice.dto.ClientProfilePage;
+import com.bank.crm.clientservice.dto.ClientProfileResponse;
+import com.bank.crm.clientservice.exceptions.BatchSizeExceededException;
+import com.bank.crm.clientservice.exceptions.ClientNotFoundException;
+import com.bank.crm.clientservice.grpc.BatchGetClientsRequest;
+import com.bank.crm.clientservice.grpc.BatchGetClientsResponse;
+import com.bank.crm.clientservice.grpc.ClientProfile;
+import com.bank.crm.clientservice.grpc.ClientProfilesGrpc;
+import com.bank.crm.clientservice.grpc.GetClientRequest;
+import com.bank.crm.clientservice.grpc.ListClientsByAgentRequest;
+import com.bank.crm.clientservice.services.ClientProfileService;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * gRPC counterpart of {@link ClientProfileController} for other CRM services. Delegates to
+ * {@link ClientProfileService}, so reads share its cache, limits and audit logging; service
+ * exceptions become the matching gRPC status instead of an HTTP one.
+ */
+@Component
+@RequiredArgsConstructor
+public class ClientProfileGrpcController extends ClientProfilesGrpc.ClientProfilesImplBase {
+
+    // Reader recorded in the audit log when the request names none, as for REST without X-User-Id
+    private static final String DEFAULT_USER_ID = "SYSTEM";
+
+    private final ClientProfileService clientProfileService;
+
+    @Override
+    public void getClient(GetClientRequest request, StreamObserver<ClientProfile> responseObserver) {
+        try {
+            ClientProfileResponse response = clientProfileService.getClientProfile(parseClientId(request.getClientId()));
+            responseObserver.onNext(toMessage(response));
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e));
+        }
+    }
+
+    @Override
+    public void batchGetClients(BatchGetClientsRequest request, StreamObserver<BatchGetClientsResponse> responseObserver) {
+        try {
+            List<UUID> clientIds = new ArrayList<>(request.getClientIdsCount());
+            for (String clientId : request.getClientIdsList()) {
+                clientIds.add(parseClientId(clientId));
+            }
+
+            String userId = request.getUserId().isBlank() ? DEFAULT_USER_ID : request.getUserId();
+
+            BatchGetClientsResponse.Builder response = BatchGetClientsResponse.newBuilder();
+            Set<UUID> found = new HashSet<>();
+            for (ClientProfileResponse profile : clientProfileService.getClientProfiles(clientIds, userId)) {
+                response.addClients(toMessage(profile));
+                found.add(profile.getClientId());
+            }
+            clientIds.stream()
+                    .distinct()
+                    .filter(clientId -> !found.contains(clientId))
+                    .forEach(clientId -> response.addMissingClientIds(clientId.toString()));
+
+            responseObserver.onNext(response.build());
+            responseObserver.onCompleted();
+        } catch (RuntimeException e) {
+            responseObserver.onError(toStatus(e));
+        }
+    }
+
+    /**
+     * Streams the portfolio a keyset page at a time, only while the client keeps up: nothing is
+     * sent while the call is not ready, and the next page is not read until the current one is out
+     */
+    @Override
+    public void listClientsByAgent(ListClientsByAgentRequest request, StreamObserver<ClientProfile> responseObserver) {
+        if (request.getAgentId().isBlank()) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription("agent_id is required").asRuntimeException());
+            return;
+        }
+
+        PortfolioStream stream = new PortfolioStream(request.getAgentId(),
+                (ServerCallStreamObserver<ClientProfile>) responseObserver);
+        stream.observer.setOnCancelHandler(stream::cancel);
+        // Also runs once the call first becomes ready
+        stream.observer.setOnReadyHandler(stream::drain);
+    }
+
+    // Callbacks of a call are serialized by gRPC, so the state needs no locking
+    @RequiredArgsConstructor
+    private class PortfolioStream {
+
+        private final String agentId;
+        private final ServerCallStreamObserver<ClientProfile> observer;
+        private Iterator<ClientProfileResponse> page = Collections.emptyIterator();
+        private UUID next;
+        private boolean lastPage;
+        private boolean done;
+
+        void drain() {
+            try {
+                while (!done && observer.isReady()) {
+                    if (page.hasNext()) {
+                        observer.onNext(toMessage(page.next()));
+                    } else if (lastPage) {
+                        done = true;
+                        observer.onCompleted();
+                    } else {
+                        ClientProfilePage fetched = clientProfileService.getClientProfilePage(
+                                agentId, next, ClientProfileService.MAX_PAGE_SIZE);
+                        page = fetched.getItems().iterator();
+                        next = fetched.getNext();
+                        lastPage = next == null;
+                    }
+                }
+            } catch (RuntimeException e) {
+                done = true;
+                observer.onError(toStatus(e));
+            }
+        }
+
+        void cancel() {
+            done = true;
+        }
+    }
+
+    private static UUID parseClientId(String clientId) {
+        try {
+            return UUID.fromString(clientId);
+        } catch (IllegalArgumentException e) {
+            throw Status.INVALID_ARGUMENT.withDescription("Client Id should be of type UUID").asRuntimeException();
+        }
+    }
+
+    private static StatusRuntimeException toStatus(RuntimeException e) {
+        if (e instanceof StatusRuntimeException status) {
+            return status;
+        }
+        if (e instanceof ClientNotFoundException) {
+            return Status.NOT_FOUND.withDescription(e.getMessage()).asRuntimeException();
+        }
+        if (e instanceof BatchSizeExceededException) {
+            return Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException();
+        }
+        return Status.INTERNAL.withDescription(e.getMessage()).withCause(e).asRuntimeException();
+    }
+
+    // Proto strings cannot be null, so absent values are sent as the empty default
+    private static ClientProfile toMessage(ClientProfileResponse profile) {
+        return ClientProfile.newBuilder()
+                .setClientId(profile.getClientId().toString())
+                .setFirstName(Objects.toString(profile.getFirstName(), ""))
+                .setLastName(Objects.toString(profile.getLastName(), ""))
+                .setDateOfBirth(Objects.toString(profile.getDateOfBirth(), ""))
+                .setGender(Objects.toString(profile.getGender(), ""))
+                .setEmailAddress(Objects.toString(profile.getEmailAddress(), ""))
+                .setPhoneNumber(Objects.toString(profile.getPhoneNumber(), ""))
+                .setAddress(Objects.toString(profile.getAddress(), ""))
+                .setCity(Objects.toString(profile.getCity(), ""))
+                .setState(Objects.toString(profile.getState(), ""))
+                .setCountry(Objects.toString(profile.getCountry(), ""))
+                .setPostalCode(Objects.toString(profile.getPostalCode(), ""))
+                .setStatus(Objects.toString(profile.getStatus(), ""))
+                .setAgentId(Objects.toString(profile.getAgentId(), ""))
+                .setVersion(profile.getVersion() == null ? 0 : profile.getVersion())
+                .build();
+    }
+}
@@ -0,0 +1,41 @@
+package com.bank.crm.clientservice.dto;
+
+import java.time.Instant;
+
+/**
+ * One audit log message, encoded by AuditEventEncoder as soon as it is built.
+ */
+public record AuditEvent(Operation operation,
+                         String attributeName,
+                         String beforeValue,
+                         String afterValue,
+                         String agentId,
+                         String clientId,
+                         Instant occurredAt,
+                         String remarks) {
+
+    public enum Operation {
+        CREATE("Create"),
+        READ("Read"),
+        UPDATE("Update"),
+        DELETE("Delete");
+
+        // The crud_operation value the audit consumer expects
+        private final String label;
+
+        Operation(String label) {
+            this.label = label;
+        }
+
+        public String label() {
+            return label;
+        }
+    }
+
+    /**
+     * Position of a message in a read log split across several messages; the audit consumer joins
+     * the parts by correlation ID. Sequence runs from 1 to total.
+     */
+    public record Chunk(String correlationId, int sequence, int total) {
+    }
+}
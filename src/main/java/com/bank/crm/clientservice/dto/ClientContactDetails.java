@@ -0,0 +1,9 @@
+package com.bank.crm.clientservice.dto;
+
+/**
+ * Interface projection over the unique contact columns of client_profile
+ */
+public interface ClientContactDetails {
+    String getEmailAddress();
+    String getPhoneNumber();
+}
@@ -0,0 +1,13 @@
+package com.bank.crm.clientservice.dto;
+
+import java.util.UUID;
+
+/**
+ * Interface projection over the columns the name suggestion index needs
+ */
+public interface ClientNameEntry {
+    UUID getClientId();
+    String getAgentId();
+    String getFirstName();
+    String getLastName();
+}
@@ -0,0 +1,16 @@
+package com.bank.crm.clientservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientNameSuggestion {
+    private UUID clientId;
+    private String firstName;
+    private String lastName;
+}
@@ -0,0 +1,29 @@
+package com.bank.crm.clientservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClientProfileBulkResult {
+
+    public enum Status {
+        CREATED,
+        INVALID,
+        DUPLICATE
+    }
+
+    // Position of the item in the submitted array
+    private int index;
+    private Status status;
+    private UUID clientId;
+    // Validation messages for INVALID, clashing field names for DUPLICATE
+    private List<String> errors;
+}
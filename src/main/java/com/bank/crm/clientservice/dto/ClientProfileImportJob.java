@@ -0,0 +1,36 @@
+package com.bank.crm.clientservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClientProfileImportJob {
+
+    public enum State {
+        QUEUED,
+        STAGING,
+        MERGING,
+        AUDITING,
+        COMPLETED,
+        FAILED
+    }
+
+    private UUID jobId;
+    private State state;
+    // Data rows read from the file so far, header excluded
+    private long rowsRead;
+    private long rowsInvalid;
+    private long rowsImported;
+    private long rowsDuplicate;
+    // First few problems, each prefixed with the CSV line number
+    private List<String> errors;
+    private String failureReason;
+}
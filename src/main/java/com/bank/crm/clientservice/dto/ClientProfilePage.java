@@ -0,0 +1,17 @@
+package com.bank.crm.clientservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientProfilePage {
+    private List<ClientProfileResponse> items;
+    // Pass back as ?after= to fetch the following page; null on the last page
+    private UUID next;
+}
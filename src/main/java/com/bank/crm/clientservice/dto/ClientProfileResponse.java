@@ -1,10 +1,14 @@
 package com.bank.crm.clientservice.dto;
+import com.bank.crm.clientservice.models.enums.ClientStatusTypes;
 import com.bank.crm.clientservice.models.enums.GenderTypes;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.UUID;
 
@@ -25,4 +29,13 @@ public class ClientProfileResponse {
     private String state;
     private String country;
     private String postalCode;
+    private ClientStatusTypes status;
+    // Same JSON name the ClientProfile entity used to be served with
+    @JsonProperty("agent_id")
+    private String agentId;
+    // Served as the ETag and Last-Modified headers rather than in the body
+    @JsonIgnore
+    private Long version;
+    @JsonIgnore
+    private Instant updatedAt;
 }
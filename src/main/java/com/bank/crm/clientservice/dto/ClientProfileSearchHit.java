@@ -0,0 +1,11 @@
+package com.bank.crm.clientservice.dto;
+
+import java.util.UUID;
+
+/**
+ * Interface projection over one search match and its similarity score
+ */
+public interface ClientProfileSearchHit {
+    UUID getClientId();
+    Float getScore();
+}
@@ -0,0 +1,17 @@
+package com.bank.crm.clientservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientProfileSearchPage {
+    // Best match first
+    private List<ClientProfileResponse> items;
+    // Opaque cursor to pass back as ?after= for the following page; null on the last page
+    private String next;
+}
@@ -0,0 +1,18 @@
+package com.bank.crm.clientservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * What a conditional GET needs to know about a profile, without the profile itself
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClientProfileVersion {
+    private Long version;
+    private Instant updatedAt;
+}
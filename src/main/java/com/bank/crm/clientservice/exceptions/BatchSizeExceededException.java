@@ -0,0 +1,7 @@
+package com.bank.crm.clientservice.exceptions;
+
+public class BatchSizeExceededException extends RuntimeException {
+    public BatchSizeExceededException(int size, int maxSize) {
+        super("Batch of " + size + " items exceeds the maximum of " + maxSize);
+    }
+}
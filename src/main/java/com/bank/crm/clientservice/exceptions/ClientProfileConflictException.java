@@ -0,0 +1,9 @@
+package com.bank.crm.clientservice.exceptions;
+
+import java.util.UUID;
+
+public class ClientProfileConflictException extends RuntimeException {
+    public ClientProfileConflictException(UUID clientId) {
+        super("Client profile " + clientId + " was changed by another request, reload it and try again");
+    }
+}
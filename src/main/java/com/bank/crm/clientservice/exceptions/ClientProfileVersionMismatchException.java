@@ -0,0 +1,9 @@
+package com.bank.crm.clientservice.exceptions;
+
+import java.util.UUID;
+
+public class ClientProfileVersionMismatchException extends RuntimeException {
+    public ClientProfileVersionMismatchException(UUID clientId) {
+        super("Client profile " + clientId + " has changed since the version given in If-Match");
+    }
+}
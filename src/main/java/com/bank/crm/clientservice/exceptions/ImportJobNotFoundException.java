@@ -0,0 +1,9 @@
+package com.bank.crm.clientservice.exceptions;
+
+import java.util.UUID;
+
+public class ImportJobNotFoundException extends RuntimeException {
+    public ImportJobNotFoundException(UUID jobId) {
+        super("Import job not found with ID: " + jobId);
+    }
+}
@@ -0,0 +1,7 @@
+package com.bank.crm.clientservice.exceptions;
+
+public class ImportTooLargeException extends RuntimeException {
+    public ImportTooLargeException(long maxBytes) {
+        super("Import file exceeds the maximum of " + maxBytes + " bytes");
+    }
+}
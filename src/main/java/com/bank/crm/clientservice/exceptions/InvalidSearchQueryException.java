@@ -0,0 +1,7 @@
+package com.bank.crm.clientservice.exceptions;
+
+public class InvalidSearchQueryException extends RuntimeException {
+    public InvalidSearchQueryException(String message) {
+        super(message);
+    }
+}
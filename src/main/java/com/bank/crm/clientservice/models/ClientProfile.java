@@ -1,20 +1,42 @@
 package com.bank.crm.clientservice.models;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.UpdateTimestamp;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Map;
 import java.util.UUID;
 
 import com.bank.crm.clientservice.models.enums.GenderTypes;
 import com.bank.crm.clientservice.models.enums.ClientStatusTypes;
 @Entity
-@Table(name = "client_profile")
+@Table(
+        name = "client_profile",
+        uniqueConstraints = {
+                @UniqueConstraint(name = ClientProfile.EMAIL_UNIQUE_CONSTRAINT, columnNames = "email_address"),
+                @UniqueConstraint(name = ClientProfile.PHONE_UNIQUE_CONSTRAINT, columnNames = "phone_number")
+        }
+)
+// UPDATE statements only carry the columns that actually changed
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class ClientProfile {
 
+    public static final String EMAIL_UNIQUE_CONSTRAINT = "uk_client_profile_email_address";
+    public static final String PHONE_UNIQUE_CONSTRAINT = "uk_client_profile_phone_number";
+
+    // Request field reported back when the constraint is violated
+    public static final Map<String, String> UNIQUE_CONSTRAINT_FIELDS = Map.of(
+            EMAIL_UNIQUE_CONSTRAINT, "emailAddress",
+            PHONE_UNIQUE_CONSTRAINT, "phoneNumber"
+    );
+
     @Id
     @GeneratedValue
     @Column(name = "client_id")
@@ -42,12 +64,12 @@ public class ClientProfile {
     @NotNull
     private GenderTypes gender;
 
-    @Column(name = "email_address", nullable = false, unique = true, length = 255)
+    @Column(name = "email_address", nullable = false, columnDefinition = "citext")
     @NotBlank
     @Email(message = "Email should be valid")
     private String emailAddress;
 
-    @Column(name = "phone_number", nullable = false, unique = true, length = 16)
+    @Column(name = "phone_number", nullable = false, length = 16)
     @NotBlank
     @Pattern(regexp = "^\\+[0-9]{10,15}$", message = "Phone number must start with + and contain 10-15 digits")
     private String phoneNumber;
@@ -85,4 +107,16 @@ public class ClientProfile {
     @Column(name = "agent_id", nullable = false, length = 36)
     @NotNull
     private String agent_id;
+
+    // Bumped by every UPDATE: the optimistic-lock check on writes and the ETag on reads.
+    // Served as headers, so kept out of the JSON like on ClientProfileResponse
+    @Version
+    @Column(nullable = false)
+    @JsonIgnore
+    private Long version;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    @JsonIgnore
+    private Instant updatedAt;
 }
@@ -0,0 +1,93 @@
+package com.bank.crm.clientservice.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The audit_outbox table. Plain JDBC rather than an entity: appends are multi-row batches, which
+ * Hibernate would not batch for a generated key, and the relay's claim needs FOR UPDATE SKIP LOCKED.
+ * Every method runs in the caller's transaction when there is one.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AuditOutboxRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO audit_outbox (payload) VALUES (?)";
+
+    public record Entry(long id, String payload) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void append(List<String> payloads) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, payloads, payloads.size(),
+                (ps, payload) -> ps.setString(1, payload));
+    }
+
+    /**
+     * Append on a connection the caller manages itself, e.g. the one an import holds open
+     */
+    public void append(Connection connection, List<String> payloads) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+            for (String payload : payloads) {
+                statement.setString(1, payload);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    /**
+     * Lease up to limit of the oldest entries that are not leased, or whose lease has expired, for
+     * leaseMs, in id order. The claim commits on its own, so the caller holds no lock while it sends.
+     * Rows another relay is claiming at the same moment are skipped rather than waited for.
+     */
+    public List<Entry> claimNext(int limit, long leaseMs) {
+        List<Entry> claimed = new ArrayList<>(jdbcTemplate.query("UPDATE audit_outbox "
+                        + "SET leased_until = now() + ? * interval '1 millisecond' "
+                        + "WHERE id IN (SELECT id FROM audit_outbox WHERE leased_until IS NULL OR leased_until < now() "
+                        + "ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED) "
+                        + "RETURNING id, payload",
+                (rows, rowNum) -> new Entry(rows.getLong("id"), rows.getString("payload")),
+                leaseMs, limit));
+        // RETURNING has no order
+        claimed.sort(Comparator.comparingLong(Entry::id));
+        return claimed;
+    }
+
+    /**
+     * Give up the lease on entries that were not delivered, so the next round takes them again
+     */
+    public void release(Collection<Long> ids) {
+        updateByIds("UPDATE audit_outbox SET leased_until = NULL WHERE id = ANY(?)", ids);
+    }
+
+    public void delete(Collection<Long> ids) {
+        updateByIds("DELETE FROM audit_outbox WHERE id = ANY(?)", ids);
+    }
+
+    public long count() {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM audit_outbox", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    private void updateByIds(String sql, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute(sql, (PreparedStatementCallback<Integer>) ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray()));
+            return ps.executeUpdate();
+        });
+    }
+}
@@ -1,15 +1,221 @@
 package com.bank.crm.clientservice.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import com.bank.crm.clientservice.dto.ClientContactDetails;
+import com.bank.crm.clientservice.dto.ClientNameEntry;
+import com.bank.crm.clientservice.dto.ClientProfileResponse;
+import com.bank.crm.clientservice.dto.ClientProfileSearchHit;
+import com.bank.crm.clientservice.dto.ClientProfileVersion;
 import com.bank.crm.clientservice.models.ClientProfile;
+import com.bank.crm.clientservice.models.enums.ClientStatusTypes;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface ClientProfileRepository extends JpaRepository<ClientProfile, UUID> {
-    boolean existsByEmailAddressAndClientIdNot(String email, UUID clientId);
-    boolean existsByPhoneNumberAndClientIdNot(String phone, UUID clientId);
     boolean existsByEmailAddress(String emailAddress);
     boolean existsByPhoneNumber(String phoneNumber);
-} 
+
+    // Read models are built straight from the row with a constructor expression, so no managed
+    // entity or dirty-checking snapshot is created for them.
+    String RESPONSE_PROJECTION = "SELECT new com.bank.crm.clientservice.dto.ClientProfileResponse("
+            + "c.clientId, c.firstName, c.lastName, c.dateOfBirth, c.gender, c.emailAddress, c.phoneNumber, "
+            + "c.address, c.city, c.state, c.country, c.postalCode, c.status, c.agent_id, c.version, c.updatedAt) "
+            + "FROM ClientProfile c ";
+
+    @Transactional(readOnly = true)
+    @Query(RESPONSE_PROJECTION + "WHERE c.clientId = :clientId AND c.status <> :excludedStatus")
+    Optional<ClientProfileResponse> findResponseById(@Param("clientId") UUID clientId,
+                                                     @Param("excludedStatus") ClientStatusTypes excludedStatus);
+
+    /**
+     * Only the version and modification time, so a conditional GET that ends in 304 never builds the
+     * profile
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.bank.crm.clientservice.dto.ClientProfileVersion(c.version, c.updatedAt) "
+            + "FROM ClientProfile c WHERE c.clientId = :clientId "
+            + "AND c.status <> com.bank.crm.clientservice.models.enums.ClientStatusTypes.INACTIVE")
+    Optional<ClientProfileVersion> findVersionById(@Param("clientId") UUID clientId);
+
+    /**
+     * Fetch an agent's non-INACTIVE portfolio. The status is a literal rather than a parameter so the
+     * planner can match the partial idx_client_profile_agent_active index, even on a generic plan.
+     */
+    @Transactional(readOnly = true)
+    @Query(RESPONSE_PROJECTION + "WHERE c.agent_id = :agentId "
+            + "AND c.status <> com.bank.crm.clientservice.models.enums.ClientStatusTypes.INACTIVE")
+    List<ClientProfileResponse> findActiveByAgentId(@Param("agentId") String agentId);
+
+    /**
+     * First page of an agent's portfolio in client_id order, read along idx_client_profile_agent_active
+     */
+    @Transactional(readOnly = true)
+    @Query(RESPONSE_PROJECTION + "WHERE c.agent_id = :agentId "
+            + "AND c.status <> com.bank.crm.clientservice.models.enums.ClientStatusTypes.INACTIVE "
+            + "ORDER BY c.clientId")
+    List<ClientProfileResponse> findActiveFirstPageByAgentId(@Param("agentId") String agentId, Limit limit);
+
+    /**
+     * Seek past the cursor within the agent's portfolio
+     */
+    @Transactional(readOnly = true)
+    @Query(RESPONSE_PROJECTION + "WHERE c.agent_id = :agentId AND c.clientId > :after "
+            + "AND c.status <> com.bank.crm.clientservice.models.enums.ClientStatusTypes.INACTIVE "
+            + "ORDER BY c.clientId")
+    List<ClientProfileResponse> findActivePageByAgentIdAfter(@Param("agentId") String agentId,
+                                                             @Param("after") UUID after,
+                                                             Limit limit);
+
+    /**
+     * First page of the client_id-ordered keyset
+     */
+    @Transactional(readOnly = true)
+    @Query(RESPONSE_PROJECTION + "WHERE c.status <> :excludedStatus ORDER BY c.clientId")
+    List<ClientProfileResponse> findFirstPage(@Param("excludedStatus") ClientStatusTypes excludedStatus, Limit limit);
+
+    /**
+     * Seek past the cursor on the primary key instead of using OFFSET
+     */
+    @Transactional(readOnly = true)
+    @Query(RESPONSE_PROJECTION + "WHERE c.clientId > :after AND c.status <> :excludedStatus ORDER BY c.clientId")
+    List<ClientProfileResponse> findPageAfter(@Param("after") UUID after,
+                                              @Param("excludedStatus") ClientStatusTypes excludedStatus,
+                                              Limit limit);
+
+    /**
+     * Responses for a set of ids, e.g. a page of search hits; order is up to the caller
+     */
+    @Transactional(readOnly = true)
+    @Query(RESPONSE_PROJECTION + "WHERE c.clientId IN :clientIds "
+            + "AND c.status <> com.bank.crm.clientservice.models.enums.ClientStatusTypes.INACTIVE")
+    List<ClientProfileResponse> findActiveResponsesByIds(@Param("clientIds") Collection<UUID> clientIds);
+
+    // Non-INACTIVE profiles whose name, email or city contains the pattern, scored by word similarity
+    // to the query. Expressions and the status literal mirror the partial trigram indexes from V4.
+    String SEARCH_MATCHES = "SELECT client_id, GREATEST("
+            + "word_similarity(:query, first_name || ' ' || last_name), "
+            + "word_similarity(:query, CAST(email_address AS text)), "
+            + "word_similarity(:query, city)) AS score "
+            + "FROM client_profile "
+            + "WHERE status <> 'INACTIVE' "
+            + "AND ((first_name || ' ' || last_name) ILIKE :pattern "
+            + "OR CAST(email_address AS text) ILIKE :pattern "
+            + "OR city ILIKE :pattern)";
+
+    /**
+     * First page of search hits, best score first with client_id breaking ties
+     */
+    @Transactional(readOnly = true)
+    @Query(value = "SELECT client_id AS \"clientId\", score AS \"score\" FROM (" + SEARCH_MATCHES + ") matches "
+            + "ORDER BY score DESC, client_id DESC LIMIT :limit",
+            nativeQuery = true)
+    List<ClientProfileSearchHit> searchFirstPage(@Param("query") String query,
+                                                 @Param("pattern") String pattern,
+                                                 @Param("limit") int limit);
+
+    /**
+     * Seek past the (score, client_id) cursor of the previous page
+     */
+    @Transactional(readOnly = true)
+    @Query(value = "SELECT client_id AS \"clientId\", score AS \"score\" FROM (" + SEARCH_MATCHES + ") matches "
+            + "WHERE (score, client_id) < (CAST(:afterScore AS real), CAST(:afterId AS uuid)) "
+            + "ORDER BY score DESC, client_id DESC LIMIT :limit",
+            nativeQuery = true)
+    List<ClientProfileSearchHit> searchPageAfter(@Param("query") String query,
+                                                 @Param("pattern") String pattern,
+                                                 @Param("afterScore") float afterScore,
+                                                 @Param("afterId") UUID afterId,
+                                                 @Param("limit") int limit);
+
+    /**
+     * Cursor over all non-excluded profiles; must be consumed inside a transaction and closed
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM ClientProfile c WHERE c.status <> :excludedStatus")
+    Stream<ClientProfile> streamByStatusNot(@Param("excludedStatus") ClientStatusTypes excludedStatus);
+
+    String NAME_ENTRY_PROJECTION = "SELECT c.clientId AS clientId, c.agent_id AS agentId, "
+            + "c.firstName AS firstName, c.lastName AS lastName FROM ClientProfile c ";
+
+    /**
+     * Names of every non-INACTIVE client, for building the suggestion index; must be consumed inside
+     * a transaction and closed
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(NAME_ENTRY_PROJECTION
+            + "WHERE c.status <> com.bank.crm.clientservice.models.enums.ClientStatusTypes.INACTIVE")
+    Stream<ClientNameEntry> streamActiveNameEntries();
+
+    /**
+     * Names of those of the given clients that are still non-INACTIVE
+     */
+    @Transactional(readOnly = true)
+    @Query(NAME_ENTRY_PROJECTION + "WHERE c.clientId IN :clientIds "
+            + "AND c.status <> com.bank.crm.clientservice.models.enums.ClientStatusTypes.INACTIVE")
+    List<ClientNameEntry> findActiveNameEntriesByIds(@Param("clientIds") Collection<UUID> clientIds);
+
+    /**
+     * Stored rows clashing with any of the emails or phones, checked in one round trip for a whole batch
+     */
+    @Transactional(readOnly = true)
+    @Query(value = "SELECT email_address AS \"emailAddress\", phone_number AS \"phoneNumber\" FROM client_profile "
+            + "WHERE email_address = ANY(CAST(:emails AS citext[])) OR phone_number = ANY(CAST(:phones AS text[]))",
+            nativeQuery = true)
+    List<ClientContactDetails> findContactsMatching(@Param("emails") String[] emails, @Param("phones") String[] phones);
+
+    /**
+     * Rows other than clientId (null for a new client) holding the email or phone
+     */
+    @Transactional(readOnly = true)
+    @Query(value = "SELECT email_address AS \"emailAddress\", phone_number AS \"phoneNumber\" FROM client_profile "
+            + "WHERE client_id IS DISTINCT FROM CAST(:clientId AS uuid) "
+            + "AND (email_address = CAST(:email AS citext) OR phone_number = CAST(:phone AS text))",
+            nativeQuery = true)
+    List<ClientContactDetails> findContactsClashingWith(@Param("email") String email, @Param("phone") String phone,
+                                                        @Param("clientId") UUID clientId);
+
+    /**
+     * Compare-and-set on status in a single UPDATE; returns 0 when the client is missing or not in
+     * one of the expected statuses, so concurrent transitions of the same client cannot both succeed.
+     * Bulk updates bypass the entity, so the version and timestamp are bumped here by hand.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ClientProfile c SET c.status = :to, c.version = c.version + 1, c.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE c.clientId = :clientId AND c.status IN :from")
+    int transitionStatus(@Param("clientId") UUID clientId,
+                         @Param("from") Collection<ClientStatusTypes> from,
+                         @Param("to") ClientStatusTypes to);
+
+    /**
+     * As {@link #transitionStatus}, but only while the row is still at the version the caller based
+     * its decision on; returns 0 when anything about the client changed since
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ClientProfile c SET c.status = :to, c.version = c.version + 1, c.updatedAt = CURRENT_TIMESTAMP "
+            + "WHERE c.clientId = :clientId AND c.version = :version AND c.status IN :from")
+    int transitionStatusAtVersion(@Param("clientId") UUID clientId,
+                                  @Param("version") long version,
+                                  @Param("from") Collection<ClientStatusTypes> from,
+                                  @Param("to") ClientStatusTypes to);
+}
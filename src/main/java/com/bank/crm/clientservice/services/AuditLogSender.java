@@ -0,0 +1,181 @@
+package com.bank.crm.clientservice.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Sends audit log messages to the logging queue in SendMessageBatch calls of up to ten entries and
+ * 256 KB, re-sending entries SQS did not accept. Called by {@link AuditOutboxRelay}; what could not
+ * be delivered is reported back so it stays in the outbox for the next round.
+ * A body over compression-threshold-bytes is sent as {"content_encoding":"gzip+base64","payload":...}
+ * with the gzipped, base64-encoded message as payload; smaller bodies are sent as they are.
+ */
+@Service
+public class AuditLogSender {
+
+    // SQS limits per SendMessageBatch call
+    static final int MAX_BATCH_ENTRIES = 10;
+    static final int MAX_BATCH_BYTES = 256 * 1024;
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLogSender.class);
+
+    private final SqsClient sqsClient;
+    private final String queueUrl;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final int compressionThresholdBytes;
+
+    public AuditLogSender(SqsClient sqsClient,
+                          @Value("${aws.sqs.logging-queue-url}") String queueUrl,
+                          @Value("${audit.sender.max-attempts:3}") int maxAttempts,
+                          @Value("${audit.sender.retry-backoff-ms:200}") long retryBackoffMs,
+                          @Value("${audit.sender.compression-threshold-bytes:65536}") int compressionThresholdBytes) {
+        this.sqsClient = sqsClient;
+        this.queueUrl = queueUrl;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+        this.compressionThresholdBytes = compressionThresholdBytes;
+    }
+
+    /**
+     * Send the message bodies in order, as few calls as the SQS limits allow. Returns the indexes of
+     * the bodies not delivered. The first batch that still has undelivered entries after the last
+     * attempt ends the call: the bodies after it are not sent, so they cannot overtake it, and an
+     * unavailable queue costs one batch of attempts rather than one per batch. A body SQS rejects
+     * for its own content (sender fault), or one still over the SQS size limit after compression,
+     * is logged and counted as handled, since sending it again cannot succeed and would hold back
+     * everything after it.
+     */
+    public Set<Integer> sendAll(List<String> messageBodies) {
+        List<String> bodies = new ArrayList<>(messageBodies.size());
+        List<Integer> batch = new ArrayList<>(MAX_BATCH_ENTRIES);
+        int batchBytes = 0;
+
+        for (int i = 0; i < messageBodies.size(); i++) {
+            String body = messageBodies.get(i);
+            int bytes = body.getBytes(StandardCharsets.UTF_8).length;
+            if (bytes > compressionThresholdBytes) {
+                body = compressed(body);
+                // The envelope is ASCII
+                bytes = body.length();
+            }
+            bodies.add(body);
+            if (bytes > MAX_BATCH_BYTES) {
+                logger.error("Audit log message of {} bytes exceeds the SQS limit of {} bytes even compressed, "
+                        + "dropping it. Queue: {}, Body: {}", bytes, MAX_BATCH_BYTES, queueUrl, messageBodies.get(i));
+                continue;
+            }
+
+            if (batch.size() == MAX_BATCH_ENTRIES || (!batch.isEmpty() && batchBytes + bytes > MAX_BATCH_BYTES)) {
+                Set<Integer> undelivered = ship(bodies, batch);
+                if (!undelivered.isEmpty()) {
+                    return withUnsent(undelivered, batch.get(batch.size() - 1) + 1, messageBodies.size());
+                }
+                batch = new ArrayList<>(MAX_BATCH_ENTRIES);
+                batchBytes = 0;
+            }
+            batch.add(i);
+            batchBytes += bytes;
+        }
+        return batch.isEmpty() ? new HashSet<>() : ship(bodies, batch);
+    }
+
+    private static String compressed(String body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length() / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            // In-memory streams do not fail
+            throw new UncheckedIOException(e);
+        }
+        return "{\"content_encoding\":\"gzip+base64\",\"payload\":\""
+                + Base64.getEncoder().encodeToString(out.toByteArray()) + "\"}";
+    }
+
+    private static Set<Integer> withUnsent(Set<Integer> undelivered, int from, int to) {
+        for (int i = from; i < to; i++) {
+            undelivered.add(i);
+        }
+        return undelivered;
+    }
+
+    /**
+     * One SendMessageBatch call, re-sending entries SQS failed for reasons of its own until they are
+     * accepted or run out of attempts
+     */
+    private Set<Integer> ship(List<String> messageBodies, List<Integer> indexes) {
+        Map<String, Integer> pending = new LinkedHashMap<>();
+        for (int index : indexes) {
+            pending.put(Integer.toString(index), index);
+        }
+
+        for (int attempt = 1; attempt <= maxAttempts && !pending.isEmpty(); attempt++) {
+            if (attempt > 1 && !backOff(attempt)) {
+                break;
+            }
+            try {
+                List<SendMessageBatchRequestEntry> entries = new ArrayList<>(pending.size());
+                pending.forEach((id, index) -> entries.add(SendMessageBatchRequestEntry.builder()
+                        .id(id)
+                        .messageBody(messageBodies.get(index))
+                        .build()));
+
+                SendMessageBatchResponse response = sqsClient.sendMessageBatch(SendMessageBatchRequest.builder()
+                        .queueUrl(queueUrl)
+                        .entries(entries)
+                        .build());
+                for (SendMessageBatchResultEntry sent : response.successful()) {
+                    pending.remove(sent.id());
+                }
+                for (BatchResultErrorEntry failed : response.failed()) {
+                    if (Boolean.TRUE.equals(failed.senderFault())) {
+                        Integer index = pending.remove(failed.id());
+                        logger.error("Audit log message rejected by SQS. Queue: {}, Code: {}, Error: {}, Body: {}",
+                                queueUrl, failed.code(), failed.message(), index == null ? null : messageBodies.get(index));
+                    }
+                }
+                logger.debug("Sent {} of {} audit log messages in one batch", entries.size() - pending.size(), entries.size());
+            } catch (RuntimeException e) {
+                logger.warn("Failed to send audit log batch to SQS (attempt {}/{}). Queue: {}, Error: {}",
+                        attempt, maxAttempts, queueUrl, e.getMessage());
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            logger.warn("{} audit log message(s) not sent after {} attempts, keeping them for the next round",
+                    pending.size(), maxAttempts);
+        }
+        return new HashSet<>(pending.values());
+    }
+
+    private boolean backOff(int attempt) {
+        try {
+            Thread.sleep(retryBackoffMs * (attempt - 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
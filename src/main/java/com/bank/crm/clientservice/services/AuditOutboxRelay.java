@@ -0,0 +1,188 @@
+package com.bank.crm.clientservice.services;
+
+import com.bank.crm.clientservice.repositories.AuditOutboxRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Drains the audit outbox to the logging queue. Each round claims the oldest free entries with a
+ * lease of lease-ms, sends them through {@link AuditLogSender} with no transaction, connection or
+ * row lock held, then deletes the delivered ones and releases the rest for the next round.
+ * Replicas running the relay side by side skip each other's leased entries.
+ * Order holds per relay only: one relay sends its entries in outbox order and sends nothing past an
+ * entry it could not deliver. Relays on other replicas claim the following entries and send them
+ * meanwhile, so consumers that need a global order must sort by date_time.
+ * Delivery is at least once: a relay that dies after sending but before deleting, or whose send
+ * outlasts the lease, leaves entries another round sends again. Consumers must dedupe on the
+ * event_id every message carries.
+ * While SQS is failing, the outbox is the buffer: requests are unaffected, and the relay backs off
+ * exponentially up to max-backoff-ms instead of retrying every poll.
+ */
+@Service
+public class AuditOutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditOutboxRelay.class);
+
+    private final AuditOutboxRepository auditOutboxRepository;
+    private final AuditLogSender auditLogSender;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long pollIntervalMs;
+    private final long maxBackoffMs;
+    private final long leaseMs;
+    private final boolean virtualThreads;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private ExecutorService executorService;
+
+    public AuditOutboxRelay(AuditOutboxRepository auditOutboxRepository,
+                            AuditLogSender auditLogSender,
+                            @Value("${audit.outbox.relay.enabled:true}") boolean enabled,
+                            @Value("${audit.outbox.relay.batch-size:100}") int batchSize,
+                            @Value("${audit.outbox.relay.poll-interval-ms:500}") long pollIntervalMs,
+                            @Value("${audit.outbox.relay.max-backoff-ms:30000}") long maxBackoffMs,
+                            @Value("${audit.outbox.relay.lease-ms:60000}") long leaseMs,
+                            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.auditOutboxRepository = auditOutboxRepository;
+        this.auditLogSender = auditLogSender;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pollIntervalMs = pollIntervalMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.leaseMs = leaseMs;
+        this.virtualThreads = virtualThreads;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            logger.info("Audit outbox relay is disabled");
+            return;
+        }
+        running.set(true);
+        executorService = virtualThreads
+                ? Executors.newSingleThreadExecutor(Thread.ofVirtual().name("audit-outbox-relay").factory())
+                : Executors.newSingleThreadExecutor(r -> {
+                    Thread thread = new Thread(r, "audit-outbox-relay");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executorService.submit(this::relayLoop);
+        logger.info("Audit outbox relay started, up to {} entries per round", batchSize);
+    }
+
+    /**
+     * Finish the round in progress; whatever is left stays in the outbox for the next start
+     */
+    @PreDestroy
+    public void stop() {
+        running.set(false);
+        if (executorService == null) {
+            return;
+        }
+        executorService.shutdown();
+        try {
+            if (!executorService.awaitTermination(10, TimeUnit.SECONDS)) {
+                executorService.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executorService.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Round(int taken, int delivered) {
+        boolean failed() {
+            return delivered < taken;
+        }
+    }
+
+    /**
+     * One round: claim up to batchSize entries, send them, delete the delivered ones. Returns the
+     * number delivered.
+     */
+    public int relayBatch() {
+        return relayRound().delivered();
+    }
+
+    private Round relayRound() {
+        List<AuditOutboxRepository.Entry> entries = auditOutboxRepository.claimNext(batchSize, leaseMs);
+        if (entries.isEmpty()) {
+            return new Round(0, 0);
+        }
+
+        List<Long> done = new ArrayList<>(entries.size());
+        List<Long> undone = new ArrayList<>();
+        try {
+            Set<Integer> undelivered = auditLogSender.sendAll(
+                    entries.stream().map(AuditOutboxRepository.Entry::payload).toList());
+            for (int i = 0; i < entries.size(); i++) {
+                (undelivered.contains(i) ? undone : done).add(entries.get(i).id());
+            }
+        } catch (RuntimeException e) {
+            auditOutboxRepository.release(entries.stream().map(AuditOutboxRepository.Entry::id).toList());
+            throw e;
+        }
+        auditOutboxRepository.delete(done);
+        // Otherwise they would wait out the lease while later entries go ahead of them
+        auditOutboxRepository.release(undone);
+        return new Round(entries.size(), done.size());
+    }
+
+    private void relayLoop() {
+        int failedRounds = 0;
+        while (running.get()) {
+            long sleepMs;
+            try {
+                Round round = relayRound();
+                if (round.failed()) {
+                    failedRounds = failed(failedRounds, "SQS did not accept " + (round.taken() - round.delivered())
+                            + " of " + round.taken() + " entries");
+                    sleepMs = backoffMs(failedRounds);
+                } else {
+                    if (failedRounds > 0) {
+                        logger.info("Audit log delivery recovered after {} failed round(s)", failedRounds);
+                        failedRounds = 0;
+                    }
+                    // A full round means more is probably waiting; otherwise wait for new entries
+                    sleepMs = round.taken() < batchSize ? pollIntervalMs : 0;
+                }
+            } catch (Exception e) {
+                failedRounds = failed(failedRounds, e.getMessage());
+                sleepMs = backoffMs(failedRounds);
+            }
+
+            try {
+                Thread.sleep(sleepMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private int failed(int failedRounds, String reason) {
+        if (failedRounds == 0) {
+            logger.error("Audit log delivery failing, entries are kept in the outbox until it recovers: {}", reason);
+        } else {
+            logger.debug("Audit outbox relay round {} failed: {}", failedRounds + 1, reason);
+        }
+        return failedRounds + 1;
+    }
+
+    private long backoffMs(int failedRounds) {
+        return Math.min(pollIntervalMs << Math.min(failedRounds - 1, 20), maxBackoffMs);
+    }
+}
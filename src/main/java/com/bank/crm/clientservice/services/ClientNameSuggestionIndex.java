@@ -0,0 +1,306 @@
+package com.bank.crm.clientservice.services;
+
+import com.bank.crm.clientservice.dto.ClientNameEntry;
+import com.bank.crm.clientservice.dto.ClientNameSuggestion;
+import com.bank.crm.clientservice.models.ClientProfile;
+import com.bank.crm.clientservice.repositories.ClientProfileRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory prefix index over the names of non-INACTIVE clients, partitioned by agent, that backs
+ * the typeahead endpoint. Each agent's names are one immutable sorted array of normalised keys
+ * ("first last" and "last"), replaced copy-on-write by writers, so a lookup is a lock-free binary
+ * search. Loaded once the application is ready, then kept current by the write paths on this node
+ * and by {@link ClientProfileChangeListener} for writes made on other replicas.
+ */
+@Service
+public class ClientNameSuggestionIndex {
+
+    public static final int MAX_SUGGESTIONS = 20;
+    // Ids re-read per query when refreshing from change notifications
+    private static final int REFRESH_BATCH_SIZE = 1_000;
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientNameSuggestionIndex.class);
+
+    private static final AgentNames EMPTY = new AgentNames(new String[0], new Entry[0]);
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::text)
+            .thenComparing(key -> key.entry().clientId());
+
+    private final ClientProfileRepository clientProfileRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    // Read without locking; only replaced while holding this object's monitor
+    private final Map<String, AgentNames> namesByAgent = new ConcurrentHashMap<>();
+
+    // Guarded by this: the indexed entry of each client, to find its keys again on rename or removal
+    private final Map<UUID, Entry> entriesByClient = new HashMap<>();
+    // Guarded by this: clients written while a load streams, whose rows the load must not apply
+    private final Set<UUID> changedDuringLoad = new HashSet<>();
+    private boolean loading;
+    private final Object loadLock = new Object();
+
+    public ClientNameSuggestionIndex(ClientProfileRepository clientProfileRepository,
+                                     PlatformTransactionManager transactionManager) {
+        this.clientProfileRepository = clientProfileRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Replace the index with a fresh read of the table. Runs on startup before the readiness probe
+     * flips to accepting traffic, so a replica never serves a half-built index, and again whenever
+     * change notifications may have been missed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        synchronized (loadLock) {
+            long start = System.nanoTime();
+            synchronized (this) {
+                loading = true;
+                changedDuringLoad.clear();
+            }
+
+            try {
+                Map<UUID, Entry> loaded = new HashMap<>();
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    try (Stream<ClientNameEntry> rows = clientProfileRepository.streamActiveNameEntries()) {
+                        rows.forEach(row -> loaded.put(row.getClientId(), Entry.of(row)));
+                    }
+                });
+
+                synchronized (this) {
+                    // A write seen while streaming is at least as new as the streamed row, so it wins
+                    List<UUID> stale = entriesByClient.keySet().stream()
+                            .filter(clientId -> !changedDuringLoad.contains(clientId))
+                            .toList();
+                    List<Entry> fresh = loaded.values().stream()
+                            .filter(entry -> !changedDuringLoad.contains(entry.clientId()))
+                            .toList();
+                    removeAll(stale);
+                    addAll(fresh);
+                }
+                logger.info("Indexed {} client names for {} agents in {} ms",
+                        loaded.size(), namesByAgent.size(), (System.nanoTime() - start) / 1_000_000);
+            } finally {
+                synchronized (this) {
+                    loading = false;
+                    changedDuringLoad.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * Clients of the agent whose full name or last name starts with the prefix, ignoring case and
+     * repeated spaces, in name order
+     */
+    public List<ClientNameSuggestion> suggest(String agentId, String prefix, int limit) {
+        String normalized = normalize(prefix);
+        AgentNames names = namesByAgent.get(agentId);
+        if (normalized.isEmpty() || names == null) {
+            return List.of();
+        }
+
+        int max = Math.min(Math.max(limit, 1), MAX_SUGGESTIONS);
+        // A client matching on both keys is listed once
+        Map<UUID, ClientNameSuggestion> matches = new LinkedHashMap<>();
+        for (int i = names.lowerBound(normalized);
+             i < names.keys.length && names.keys[i].startsWith(normalized) && matches.size() < max;
+             i++) {
+            Entry entry = names.owners[i];
+            matches.putIfAbsent(entry.clientId(),
+                    new ClientNameSuggestion(entry.clientId(), entry.firstName(), entry.lastName()));
+        }
+        return List.copyOf(matches.values());
+    }
+
+    /**
+     * Index a newly created or renamed client
+     */
+    public void put(ClientProfile clientProfile) {
+        putAll(List.of(clientProfile));
+    }
+
+    public synchronized void putAll(Collection<ClientProfile> clientProfiles) {
+        List<Entry> entries = clientProfiles.stream().map(Entry::of).toList();
+        removeAll(entries.stream().map(Entry::clientId).toList());
+        addAll(entries);
+    }
+
+    /**
+     * Drop a client that became INACTIVE
+     */
+    public synchronized void remove(UUID clientId) {
+        removeAll(List.of(clientId));
+    }
+
+    /**
+     * Re-read the named clients from the database, e.g. after another replica changed them
+     */
+    public void refresh(Collection<UUID> clientIds) {
+        List<UUID> ids = List.copyOf(clientIds);
+        for (int from = 0; from < ids.size(); from += REFRESH_BATCH_SIZE) {
+            List<UUID> batch = ids.subList(from, Math.min(from + REFRESH_BATCH_SIZE, ids.size()));
+            List<ClientNameEntry> rows = clientProfileRepository.findActiveNameEntriesByIds(batch);
+
+            synchronized (this) {
+                removeAll(batch);
+                addAll(rows.stream().map(Entry::of).toList());
+            }
+        }
+    }
+
+    // Callers hold the monitor
+    private void removeAll(Collection<UUID> clientIds) {
+        Map<String, Set<UUID>> byAgent = new HashMap<>();
+        for (UUID clientId : clientIds) {
+            Entry removed = entriesByClient.remove(clientId);
+            if (removed != null) {
+                byAgent.computeIfAbsent(removed.agentId(), agent -> new HashSet<>()).add(clientId);
+            }
+            if (loading) {
+                changedDuringLoad.add(clientId);
+            }
+        }
+        byAgent.forEach((agentId, removed) -> {
+            AgentNames names = namesByAgent.getOrDefault(agentId, EMPTY).without(removed);
+            if (names.keys.length == 0) {
+                namesByAgent.remove(agentId);
+            } else {
+                namesByAgent.put(agentId, names);
+            }
+        });
+    }
+
+    // Callers hold the monitor and have removed any previous entry of the same clients
+    private void addAll(Collection<Entry> entries) {
+        Map<String, List<Entry>> byAgent = new HashMap<>();
+        for (Entry entry : entries) {
+            if (entry.agentId() == null) {
+                continue;
+            }
+            entriesByClient.put(entry.clientId(), entry);
+            if (loading) {
+                changedDuringLoad.add(entry.clientId());
+            }
+            byAgent.computeIfAbsent(entry.agentId(), agent -> new ArrayList<>()).add(entry);
+        }
+        byAgent.forEach((agentId, added) ->
+                namesByAgent.put(agentId, namesByAgent.getOrDefault(agentId, EMPTY).with(added)));
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(UUID clientId, String agentId, String firstName, String lastName) {
+
+        static Entry of(ClientNameEntry row) {
+            return new Entry(row.getClientId(), row.getAgentId(), row.getFirstName(), row.getLastName());
+        }
+
+        static Entry of(ClientProfile profile) {
+            return new Entry(profile.getClientId(), profile.getAgent_id(), profile.getFirstName(), profile.getLastName());
+        }
+    }
+
+    private record Key(String text, Entry entry) {
+    }
+
+    /**
+     * One agent's keys in sorted order, with the entry each key belongs to at the same position
+     */
+    private static final class AgentNames {
+        private final String[] keys;
+        private final Entry[] owners;
+
+        private AgentNames(String[] keys, Entry[] owners) {
+            this.keys = keys;
+            this.owners = owners;
+        }
+
+        /**
+         * Sorts only the added keys, then merges them into the existing ones in one pass
+         */
+        AgentNames with(List<Entry> added) {
+            List<Key> addedKeys = new ArrayList<>(2 * added.size());
+            for (Entry entry : added) {
+                addedKeys.add(new Key(normalize(entry.firstName() + " " + entry.lastName()), entry));
+                addedKeys.add(new Key(normalize(entry.lastName()), entry));
+            }
+            addedKeys.sort(KEY_ORDER);
+
+            int size = keys.length + addedKeys.size();
+            String[] mergedKeys = new String[size];
+            Entry[] mergedOwners = new Entry[size];
+            int i = 0;
+            int j = 0;
+            for (int k = 0; k < size; k++) {
+                if (j == addedKeys.size() || (i < keys.length && !isAfter(i, addedKeys.get(j)))) {
+                    mergedKeys[k] = keys[i];
+                    mergedOwners[k] = owners[i++];
+                } else {
+                    Key key = addedKeys.get(j++);
+                    mergedKeys[k] = key.text();
+                    mergedOwners[k] = key.entry();
+                }
+            }
+            return new AgentNames(mergedKeys, mergedOwners);
+        }
+
+        /**
+         * Keeps the remaining keys in their existing order, so nothing is sorted again
+         */
+        AgentNames without(Set<UUID> clientIds) {
+            String[] keptKeys = new String[keys.length];
+            Entry[] keptOwners = new Entry[keys.length];
+            int kept = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (!clientIds.contains(owners[i].clientId())) {
+                    keptKeys[kept] = keys[i];
+                    keptOwners[kept++] = owners[i];
+                }
+            }
+            return new AgentNames(Arrays.copyOf(keptKeys, kept), Arrays.copyOf(keptOwners, kept));
+        }
+
+        // Whether the key at position i sorts after the given key, in KEY_ORDER
+        private boolean isAfter(int i, Key key) {
+            int order = keys[i].compareTo(key.text());
+            return order > 0 || (order == 0 && owners[i].clientId().compareTo(key.entry().clientId()) > 0);
+        }
+
+        // First position whose key is not less than the prefix
+        int lowerBound(String prefix) {
+            int found = Arrays.binarySearch(keys, prefix);
+            if (found < 0) {
+                return -found - 1;
+            }
+            while (found > 0 && keys[found - 1].equals(prefix)) {
+                found--;
+            }
+            return found;
+        }
+    }
+}
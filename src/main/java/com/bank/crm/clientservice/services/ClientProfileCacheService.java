@@ -0,0 +1,183 @@
+package com.bank.crm.clientservice.services;
+
+import com.bank.crm.clientservice.dto.ClientProfileResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of client profile responses keyed by clientId.
+ * Every write path must call {@link #evict(UUID)} once its change is stored; the eviction is
+ * broadcast to the other replicas over Postgres NOTIFY and applied there by
+ * {@link ClientProfileChangeListener}.
+ */
+@Service
+public class ClientProfileCacheService {
+
+    public static final String CACHE_NAME = "clientProfiles";
+    public static final String CHANGE_CHANNEL = "client_profile_changed";
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientProfileCacheService.class);
+    private static final String PUBLISH_CREATED_SQL = "SELECT pg_notify(?, id || ?) FROM unnest(?) AS id";
+
+    private final Cache cache;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean broadcastEnabled;
+    // Appended to this node's notifications, so its listener can tell them from other replicas'
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public ClientProfileCacheService(CacheManager cacheManager,
+                                     JdbcTemplate jdbcTemplate,
+                                     @Value("${client-profile.cache.invalidation.enabled:true}") boolean broadcastEnabled) {
+        this.cache = Objects.requireNonNull(cacheManager.getCache(CACHE_NAME),
+                "Cache '" + CACHE_NAME + "' is not configured");
+        this.jdbcTemplate = jdbcTemplate;
+        this.broadcastEnabled = broadcastEnabled;
+    }
+
+    public ClientProfileResponse get(UUID clientId, Supplier<ClientProfileResponse> loader) {
+        try {
+            return cache.get(clientId, loader::get);
+        } catch (Cache.ValueRetrievalException e) {
+            // Surface loader failures such as ClientNotFoundException unchanged
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * The cached response, or null without loading anything when the client is not cached
+     */
+    public ClientProfileResponse getIfPresent(UUID clientId) {
+        return cache.get(clientId, ClientProfileResponse.class);
+    }
+
+    /**
+     * Evict on this node and tell the other replicas to do the same
+     */
+    public void evict(UUID clientId) {
+        evictLocally(clientId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // A reader may re-cache the old row before the write commits, so evict again afterwards
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictLocally(clientId);
+                }
+            });
+        }
+
+        if (broadcastEnabled) {
+            publishChange(clientId);
+        }
+    }
+
+    public void evictLocally(UUID clientId) {
+        logger.debug("Evicting cached client profile {}", clientId);
+        cache.evict(clientId);
+    }
+
+    public void evictAllLocally() {
+        logger.info("Clearing client profile cache");
+        cache.clear();
+    }
+
+    /**
+     * Announce newly created clients to the other replicas. Nothing is cached for them yet, but
+     * the replicas' {@link ClientNameSuggestionIndex} picks them up from the notification.
+     */
+    public void publishCreated(Collection<UUID> clientIds) {
+        if (!broadcastEnabled || clientIds.isEmpty()) {
+            return;
+        }
+        // One round trip however many clients a bulk create or import produced
+        notifyReplicas(PUBLISH_CREATED_SQL, ps -> {
+            bindCreated(ps, clientIds);
+            return ps.execute();
+        }, "creation of " + clientIds.size() + " client profiles");
+    }
+
+    /**
+     * As {@link #publishCreated(Collection)}, in the transaction open on the given connection, e.g.
+     * the one an import holds, so no second connection is taken. Delivered when that commits.
+     */
+    public void publishCreated(Connection connection, Collection<UUID> clientIds) throws SQLException {
+        if (!broadcastEnabled || clientIds.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement ps = connection.prepareStatement(PUBLISH_CREATED_SQL)) {
+            bindCreated(ps, clientIds);
+            ps.execute();
+        }
+    }
+
+    private void bindCreated(PreparedStatement ps, Collection<UUID> clientIds) throws SQLException {
+        ps.setString(1, CHANGE_CHANNEL);
+        ps.setString(2, ":" + nodeId);
+        ps.setArray(3, ps.getConnection().createArrayOf("text", clientIds.stream().map(UUID::toString).toArray()));
+    }
+
+    private void publishChange(UUID clientId) {
+        notifyReplicas("SELECT pg_notify(?, ?)", ps -> {
+            ps.setString(1, CHANGE_CHANNEL);
+            ps.setString(2, clientId + ":" + nodeId);
+            return ps.execute();
+        }, "cache invalidation for clientId " + clientId);
+    }
+
+    /**
+     * Read a change notification payload, "clientId:nodeId" or, from older nodes, a bare clientId
+     *
+     * @throws IllegalArgumentException when the payload holds no clientId
+     */
+    public Change parseChange(String payload) {
+        int separator = payload.indexOf(':');
+        if (separator < 0) {
+            return new Change(UUID.fromString(payload), false);
+        }
+        return new Change(UUID.fromString(payload.substring(0, separator)),
+                nodeId.equals(payload.substring(separator + 1)));
+    }
+
+    /**
+     * A changed client, and whether this node made the change
+     */
+    public record Change(UUID clientId, boolean local) {
+    }
+
+    /**
+     * Inside a transaction Postgres holds the notification back until commit, and a failed
+     * statement aborts the transaction, so the error is left to fail the caller's write with its
+     * real cause. Outside one the change is already stored: a failure is logged, and other
+     * replicas fall back on the cache TTL and rebuild their name index on restart.
+     */
+    private void notifyReplicas(String sql, PreparedStatementCallback<Boolean> statement, String description) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            jdbcTemplate.execute(sql, statement);
+            return;
+        }
+        try {
+            jdbcTemplate.execute(sql, statement);
+        } catch (Exception e) {
+            logger.error("Failed to publish {}. Error: {}", description, e.getMessage(), e);
+        }
+    }
+}
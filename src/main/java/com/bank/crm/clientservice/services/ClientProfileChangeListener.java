@@ -0,0 +1,156 @@
+package com.bank.crm.clientservice.services;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps this node's client profile cache and name suggestion index coherent with writes made on
+ * other replicas. Holds one dedicated connection (outside the Hikari pool) that LISTENs on
+ * {@link ClientProfileCacheService#CHANGE_CHANNEL}, evicts each notified clientId and re-reads
+ * its name for {@link ClientNameSuggestionIndex}.
+ */
+@Service
+@RequiredArgsConstructor
+public class ClientProfileChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientProfileChangeListener.class);
+
+    private final JdbcConnectionDetails connectionDetails;
+    private final ClientProfileCacheService clientProfileCacheService;
+    private final ClientNameSuggestionIndex clientNameSuggestionIndex;
+
+    @Value("${client-profile.cache.invalidation.enabled:true}")
+    private boolean invalidationEnabled;
+
+    @Value("${client-profile.cache.invalidation.poll-timeout-ms:5000}")
+    private int pollTimeoutMs;
+
+    @Value("${client-profile.cache.invalidation.reconnect-delay-seconds:5}")
+    private int reconnectDelaySeconds;
+
+    private ExecutorService executorService;
+    private final AtomicBoolean isRunning = new AtomicBoolean(false);
+
+    @PostConstruct
+    public void startListening() {
+        if (!invalidationEnabled) {
+            logger.info("Client profile cache invalidation listener is disabled");
+            return;
+        }
+
+        isRunning.set(true);
+        executorService = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "client-profile-change-listener");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executorService.submit(this::listen);
+        logger.info("Client profile cache invalidation listener started on channel: {}",
+                ClientProfileCacheService.CHANGE_CHANNEL);
+    }
+
+    @PreDestroy
+    public void stopListening() {
+        isRunning.set(false);
+        if (executorService != null) {
+            executorService.shutdownNow();
+            try {
+                executorService.awaitTermination(pollTimeoutMs + 1000L, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        logger.info("Client profile cache invalidation listener stopped");
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (isRunning.get()) {
+            try (Connection connection = DriverManager.getConnection(
+                    connectionDetails.getJdbcUrl(), connectionDetails.getUsername(), connectionDetails.getPassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + ClientProfileCacheService.CHANGE_CHANNEL);
+                }
+                // Anything written while we were not listening may be stale
+                clientProfileCacheService.evictAllLocally();
+                if (reconnecting) {
+                    // The first connection precedes the index's own startup load
+                    clientNameSuggestionIndex.load();
+                }
+                reconnecting = true;
+                logger.info("Listening for client profile changes");
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (isRunning.get()) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    handleNotifications(notifications);
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!isRunning.get()) {
+                    break;
+                }
+                // Also for a failed reload or notification: the reconnect reloads the index and clears the cache
+                logger.error("Client profile change listener failed: {}. Reconnecting in {} seconds",
+                        e.getMessage(), reconnectDelaySeconds, e);
+                try {
+                    Thread.sleep(reconnectDelaySeconds * 1000L);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+    }
+
+    private void handleNotifications(PGNotification[] notifications) {
+        Set<UUID> changed = new LinkedHashSet<>();
+        for (PGNotification notification : notifications) {
+            String payload = notification.getParameter();
+            try {
+                ClientProfileCacheService.Change change = clientProfileCacheService.parseChange(payload);
+                clientProfileCacheService.evictLocally(change.clientId());
+                // This node's write paths have updated its index already
+                if (!change.local()) {
+                    changed.add(change.clientId());
+                }
+            } catch (IllegalArgumentException e) {
+                logger.warn("Ignoring malformed client profile change notification: '{}'", payload);
+            }
+        }
+
+        if (changed.isEmpty()) {
+            return;
+        }
+        try {
+            // One query for the whole poll, which a bulk create or import can fill with many ids
+            clientNameSuggestionIndex.refresh(changed);
+        } catch (DataAccessException e) {
+            logger.error("Failed to refresh client name suggestions for {} clients. Error: {}",
+                    changed.size(), e.getMessage(), e);
+        }
+    }
+}
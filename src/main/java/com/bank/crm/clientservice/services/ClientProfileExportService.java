@@ -0,0 +1,57 @@
+package com.bank.crm.clientservice.services;
+
+import com.bank.crm.clientservice.models.ClientProfile;
+import com.bank.crm.clientservice.models.enums.ClientStatusTypes;
+import com.bank.crm.clientservice.repositories.ClientProfileRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class ClientProfileExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientProfileExportService.class);
+
+    // Detach exported entities every this many rows so the persistence context stays small
+    static final int CLEAR_INTERVAL = 1_000;
+
+    private final ClientProfileRepository clientProfileRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Write every non-INACTIVE client profile to the stream as newline-delimited JSON
+     */
+    @Transactional(readOnly = true)
+    public void exportClientProfiles(OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(ClientProfile.class);
+        long exported = 0;
+
+        try (Stream<ClientProfile> clientProfiles = clientProfileRepository.streamByStatusNot(ClientStatusTypes.INACTIVE)) {
+            Iterator<ClientProfile> iterator = clientProfiles.iterator();
+            while (iterator.hasNext()) {
+                outputStream.write(writer.writeValueAsBytes(iterator.next()));
+                outputStream.write('\n');
+
+                if (++exported % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                    outputStream.flush();
+                }
+            }
+        }
+
+        outputStream.flush();
+        logger.info("Exported {} client profiles", exported);
+    }
+}
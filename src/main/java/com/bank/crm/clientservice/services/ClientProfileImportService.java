@@ -0,0 +1,591 @@
+package com.bank.crm.clientservice.services;
+
+import com.bank.crm.clientservice.dto.ClientProfileCreateRequest;
+import com.bank.crm.clientservice.dto.ClientProfileImportJob;
+import com.bank.crm.clientservice.exceptions.ImportJobNotFoundException;
+import com.bank.crm.clientservice.exceptions.ImportTooLargeException;
+import com.bank.crm.clientservice.models.ClientProfile;
+import com.bank.crm.clientservice.models.enums.ClientStatusTypes;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+/**
+ * Onboards clients from large CSV files. An upload is spooled to a temp file and handled by a
+ * single background worker: rows are validated with the {@link ClientProfileCreateRequest} rules and
+ * the table's CHECK constraints, streamed into a session-local staging table over COPY, and merged into client_profile with one
+ * INSERT ... SELECT that skips rows clashing on email or phone. Memory use does not grow with the
+ * file; only counters and the first {@link #MAX_REPORTED_ERRORS} problems are kept per job.
+ */
+@Service
+@RequiredArgsConstructor
+public class ClientProfileImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientProfileImportService.class);
+
+    // Header names, matching the JSON fields of a single create request
+    static final List<String> CSV_COLUMNS = List.of(
+            "firstName", "lastName", "dateOfBirth", "gender", "emailAddress", "phoneNumber",
+            "address", "city", "state", "country", "postalCode");
+
+    static final int MAX_REPORTED_ERRORS = 100;
+    private static final int MAX_FIELD_LENGTH = 1_000;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+    private static final int FETCH_SIZE = 1_000;
+    // CREATE logs handed to LoggingService per call
+    private static final int AUDIT_BATCH_SIZE = 500;
+    private static final int MAX_TRACKED_JOBS = 1_000;
+    private static final Duration JOB_RETENTION = Duration.ofHours(24);
+
+    // CHECK constraints on client_profile that the request annotations do not cover
+    private static final int MIN_AGE_YEARS = 18;
+    private static final int MAX_AGE_YEARS = 100;
+    private static final Pattern EMAIL_CHECK = Pattern.compile("^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+
+    private static final String STAGING_TABLE = "client_profile_import";
+    private static final String PROFILE_COLUMNS = "client_id, first_name, last_name, date_of_birth, gender, "
+            + "email_address, phone_number, address, city, state, country, postal_code, status, agent_id";
+
+    // LIKE copies the column types (enums and citext in production) so COPY parses straight into them
+    private static final String CREATE_STAGING_SQL = "CREATE TEMP TABLE " + STAGING_TABLE
+            + " (line_no bigint NOT NULL, LIKE client_profile INCLUDING DEFAULTS)";
+    private static final String COPY_SQL = "COPY " + STAGING_TABLE + " (line_no, " + PROFILE_COLUMNS
+            + ") FROM STDIN WITH (FORMAT csv)";
+    // DO NOTHING without a target covers both unique constraints, including clashes within the file
+    private static final String MERGE_SQL = "INSERT INTO client_profile (" + PROFILE_COLUMNS + ") SELECT "
+            + PROFILE_COLUMNS + " FROM " + STAGING_TABLE + " ORDER BY line_no ON CONFLICT DO NOTHING";
+    private static final String DUPLICATES_SQL = "SELECT s.line_no, "
+            + "EXISTS (SELECT 1 FROM client_profile c WHERE c.email_address = s.email_address AND c.client_id <> s.client_id) AS email_taken, "
+            + "EXISTS (SELECT 1 FROM client_profile c WHERE c.phone_number = s.phone_number AND c.client_id <> s.client_id) AS phone_taken "
+            + "FROM " + STAGING_TABLE + " s "
+            + "WHERE NOT EXISTS (SELECT 1 FROM client_profile c WHERE c.client_id = s.client_id) "
+            + "ORDER BY s.line_no LIMIT ?";
+    private static final String IMPORTED_SQL = "SELECT s.client_id, s.agent_id, s.first_name, s.last_name, s.email_address, s.phone_number "
+            + "FROM " + STAGING_TABLE + " s JOIN client_profile c ON c.client_id = s.client_id ORDER BY s.line_no";
+
+    private final DataSource dataSource;
+    private final LoggingService loggingService;
+    private final Validator validator;
+    private final ClientProfileCacheService clientProfileCacheService;
+    private final ClientNameSuggestionIndex clientNameSuggestionIndex;
+
+    @Value("${client-profile.import.max-upload-bytes:104857600}")
+    private long maxUploadBytes;
+
+    private final Cache<UUID, ImportProgress> jobs = Caffeine.newBuilder()
+            .maximumSize(MAX_TRACKED_JOBS)
+            .expireAfterWrite(JOB_RETENTION)
+            .build();
+
+    private ExecutorService executorService;
+
+    @PostConstruct
+    public void start() {
+        // One import at a time per node; each holds a pooled connection for its whole run
+        executorService = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "client-profile-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executorService != null) {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Spool the upload to disk and queue it; progress is available from {@link #getImportJob(UUID)}
+     */
+    public ClientProfileImportJob startImport(InputStream csv, String userId) throws IOException {
+        Path spool = Files.createTempFile("client-profile-import-", ".csv");
+        try {
+            spool(csv, spool);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(spool);
+            throw e;
+        }
+
+        ImportProgress progress = new ImportProgress(UUID.randomUUID());
+        jobs.put(progress.jobId, progress);
+        logger.info("Queued client profile import {} ({} bytes) for agent {}", progress.jobId, Files.size(spool), userId);
+        executorService.submit(() -> runImport(progress, spool, userId));
+        return progress.snapshot();
+    }
+
+    /**
+     * Copy the upload to the spool file, refusing it once it passes max-upload-bytes so an oversized
+     * upload cannot fill the disk
+     */
+    private void spool(InputStream csv, Path spool) throws IOException {
+        try (OutputStream out = Files.newOutputStream(spool)) {
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            long total = 0;
+            int read;
+            while ((read = csv.read(buffer)) != -1) {
+                total += read;
+                if (total > maxUploadBytes) {
+                    throw new ImportTooLargeException(maxUploadBytes);
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    public ClientProfileImportJob getImportJob(UUID jobId) {
+        ImportProgress progress = jobs.getIfPresent(jobId);
+        if (progress == null) {
+            throw new ImportJobNotFoundException(jobId);
+        }
+        return progress.snapshot();
+    }
+
+    private void runImport(ImportProgress progress, Path spool, String userId) {
+        try {
+            importFile(progress, spool, userId);
+            progress.state = ClientProfileImportJob.State.COMPLETED;
+            logger.info("Client profile import {} completed: {} read, {} imported, {} duplicate, {} invalid",
+                    progress.jobId, progress.rowsRead, progress.rowsImported, progress.rowsDuplicate, progress.rowsInvalid);
+        } catch (Exception e) {
+            logger.error("Client profile import {} failed", progress.jobId, e);
+            progress.failureReason = e.getMessage();
+            progress.state = ClientProfileImportJob.State.FAILED;
+        } finally {
+            try {
+                Files.deleteIfExists(spool);
+            } catch (IOException e) {
+                logger.warn("Could not delete import spool file {}", spool, e);
+            }
+        }
+    }
+
+    private void importFile(ImportProgress progress, Path spool, String userId) throws IOException, SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                long staged = stage(connection, progress, spool, userId);
+
+                progress.state = ClientProfileImportJob.State.MERGING;
+                int inserted;
+                try (Statement statement = connection.createStatement()) {
+                    inserted = statement.executeUpdate(MERGE_SQL);
+                }
+                reportDuplicates(connection, progress);
+
+                // The CREATE logs go to the audit outbox in the merge transaction, and the notifications
+                // to other nodes on the same connection, which Postgres delivers once it commits
+                progress.state = ClientProfileImportJob.State.AUDITING;
+                forEachImportedBatch(connection, userId, (remarksByClientId, imported) -> {
+                    loggingService.sendCreateLogs(connection, userId, remarksByClientId);
+                    clientProfileCacheService.publishCreated(connection,
+                            imported.stream().map(ClientProfile::getClientId).toList());
+                });
+                connection.commit();
+                progress.rowsImported = inserted;
+                progress.rowsDuplicate = staged - inserted;
+
+                // The local name index only takes the rows once they are committed
+                forEachImportedBatch(connection, userId,
+                        (remarksByClientId, imported) -> clientNameSuggestionIndex.putAll(imported));
+                connection.commit();
+            } catch (IOException | SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                // The staging table is per session and the connection goes back to the pool
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("DROP TABLE IF EXISTS " + STAGING_TABLE);
+                }
+                connection.commit();
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Validate every row and COPY the valid ones into the staging table; returns the number staged
+     */
+    private long stage(Connection connection, ImportProgress progress, Path spool, String userId)
+            throws IOException, SQLException {
+        progress.state = ClientProfileImportJob.State.STAGING;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_STAGING_SQL);
+        }
+
+        long staged = 0;
+        try (BufferedReader reader = Files.newBufferedReader(spool, StandardCharsets.UTF_8)) {
+            CsvReader csv = new CsvReader(reader);
+            List<String> header = csv.readRecord();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV file is empty");
+            }
+            int[] positions = columnPositions(header);
+
+            PGCopyOutputStream copy = new PGCopyOutputStream(connection.unwrap(PGConnection.class), COPY_SQL, COPY_BUFFER_SIZE);
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(copy, StandardCharsets.UTF_8))) {
+                List<String> record;
+                while ((record = csv.readRecord()) != null) {
+                    if (record.size() == 1 && record.get(0).isBlank()) {
+                        continue;
+                    }
+                    long lineNo = csv.getRecordLine();
+                    progress.rowsRead++;
+
+                    if (record.size() != header.size()) {
+                        progress.reject(lineNo, List.of(String.format(
+                                "Expected %d fields but found %d", header.size(), record.size())));
+                        continue;
+                    }
+
+                    ClientProfileCreateRequest request = toRequest(record, positions);
+                    List<String> violations = validate(request, record.get(positions[2]));
+                    if (!violations.isEmpty()) {
+                        progress.reject(lineNo, violations);
+                        continue;
+                    }
+
+                    writeCopyRow(writer, lineNo, request, userId);
+                    staged++;
+                }
+            }
+        }
+        return staged;
+    }
+
+    private void reportDuplicates(Connection connection, ImportProgress progress) throws SQLException {
+        int room = MAX_REPORTED_ERRORS - progress.errors.size();
+        if (room <= 0) {
+            return;
+        }
+
+        try (PreparedStatement statement = connection.prepareStatement(DUPLICATES_SQL)) {
+            statement.setInt(1, room);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    List<String> fields = new ArrayList<>(2);
+                    if (rows.getBoolean("email_taken")) {
+                        fields.add("emailAddress");
+                    }
+                    if (rows.getBoolean("phone_taken")) {
+                        fields.add("phoneNumber");
+                    }
+                    progress.addError(rows.getLong("line_no"), fields.isEmpty()
+                            ? "Duplicate client profile"
+                            : "Duplicate " + String.join(", ", fields));
+                }
+            }
+        }
+    }
+
+    /**
+     * Stream the rows this job inserted, AUDIT_BATCH_SIZE at a time
+     */
+    private void forEachImportedBatch(Connection connection, String userId, ImportedBatchHandler handler)
+            throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(IMPORTED_SQL)) {
+            statement.setFetchSize(FETCH_SIZE);
+            try (ResultSet rows = statement.executeQuery()) {
+                Map<String, String> remarksByClientId = new LinkedHashMap<>();
+                List<ClientProfile> imported = new ArrayList<>(AUDIT_BATCH_SIZE);
+                while (rows.next()) {
+                    ClientProfile profile = ClientProfile.builder()
+                            .clientId(rows.getObject("client_id", UUID.class))
+                            .agent_id(rows.getString("agent_id"))
+                            .firstName(rows.getString("first_name"))
+                            .lastName(rows.getString("last_name"))
+                            .emailAddress(rows.getString("email_address"))
+                            .phoneNumber(rows.getString("phone_number"))
+                            .status(ClientStatusTypes.PENDING)
+                            .build();
+                    remarksByClientId.put(rows.getString("client_id"), ClientProfileService.createRemarks(profile, userId));
+                    imported.add(profile);
+
+                    if (remarksByClientId.size() == AUDIT_BATCH_SIZE) {
+                        handler.accept(remarksByClientId, imported);
+                        remarksByClientId = new LinkedHashMap<>();
+                        imported = new ArrayList<>(AUDIT_BATCH_SIZE);
+                    }
+                }
+                if (!remarksByClientId.isEmpty()) {
+                    handler.accept(remarksByClientId, imported);
+                }
+            }
+        }
+    }
+
+    private static int[] columnPositions(List<String> header) {
+        Map<String, Integer> indexByName = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            // Spreadsheet exports often start with a byte order mark
+            indexByName.putIfAbsent(header.get(i).replace("\uFEFF", "").trim(), i);
+        }
+
+        List<String> missing = CSV_COLUMNS.stream().filter(column -> !indexByName.containsKey(column)).toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("CSV header is missing columns: " + String.join(", ", missing));
+        }
+        return CSV_COLUMNS.stream().mapToInt(indexByName::get).toArray();
+    }
+
+    private static ClientProfileCreateRequest toRequest(List<String> record, int[] positions) {
+        return ClientProfileCreateRequest.builder()
+                .firstName(record.get(positions[0]))
+                .lastName(record.get(positions[1]))
+                .dateOfBirth(parseDate(record.get(positions[2])))
+                .gender(record.get(positions[3]))
+                .emailAddress(record.get(positions[4]))
+                .phoneNumber(record.get(positions[5]))
+                .address(record.get(positions[6]))
+                .city(record.get(positions[7]))
+                .state(record.get(positions[8]))
+                .country(record.get(positions[9]))
+                .postalCode(record.get(positions[10]))
+                .build();
+    }
+
+    private List<String> validate(ClientProfileCreateRequest request, String rawDateOfBirth) {
+        // A date that did not parse is reported as such rather than as missing
+        boolean unparsableDate = request.getDateOfBirth() == null && !rawDateOfBirth.isBlank();
+
+        List<String> violations = new ArrayList<>();
+        if (unparsableDate) {
+            violations.add("Date of birth must be formatted as yyyy-MM-dd");
+        }
+        validator.validate(request).stream()
+                .filter(violation -> !(unparsableDate && violation.getPropertyPath().toString().equals("dateOfBirth")))
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .forEach(violations::add);
+        if (violations.isEmpty()) {
+            // A row breaking a CHECK would abort the whole merge, so it is rejected here instead
+            violations.addAll(checkConstraintViolations(request));
+        }
+        return violations;
+    }
+
+    private static List<String> checkConstraintViolations(ClientProfileCreateRequest request) {
+        List<String> violations = new ArrayList<>(2);
+        LocalDate today = LocalDate.now();
+        LocalDate dateOfBirth = request.getDateOfBirth();
+        if (dateOfBirth.isAfter(today.minusYears(MIN_AGE_YEARS)) || dateOfBirth.isBefore(today.minusYears(MAX_AGE_YEARS))) {
+            violations.add("Client must be between " + MIN_AGE_YEARS + " and " + MAX_AGE_YEARS + " years old");
+        }
+        if (!EMAIL_CHECK.matcher(request.getEmailAddress()).matches()) {
+            violations.add("Email address must be valid");
+        }
+        return violations;
+    }
+
+    private static LocalDate parseDate(String value) {
+        if (value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static void writeCopyRow(Writer writer, long lineNo, ClientProfileCreateRequest request, String userId)
+            throws IOException {
+        writer.write(Long.toString(lineNo));
+        for (String value : new String[]{
+                UUID.randomUUID().toString(),
+                request.getFirstName(),
+                request.getLastName(),
+                request.getDateOfBirth().toString(),
+                request.getGender(),
+                request.getEmailAddress(),
+                request.getPhoneNumber(),
+                request.getAddress(),
+                request.getCity(),
+                request.getState(),
+                request.getCountry(),
+                request.getPostalCode(),
+                ClientStatusTypes.PENDING.name(),
+                userId}) {
+            writer.write(',');
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+        writer.write('\n');
+    }
+
+    @FunctionalInterface
+    private interface ImportedBatchHandler {
+        void accept(Map<String, String> remarksByClientId, List<ClientProfile> imported) throws SQLException;
+    }
+
+    /**
+     * Counters for one job. Written only by the import worker and read by status requests.
+     */
+    private static final class ImportProgress {
+        private final UUID jobId;
+        private final List<String> errors = new CopyOnWriteArrayList<>();
+        private volatile ClientProfileImportJob.State state = ClientProfileImportJob.State.QUEUED;
+        private volatile long rowsRead;
+        private volatile long rowsInvalid;
+        private volatile long rowsImported;
+        private volatile long rowsDuplicate;
+        private volatile String failureReason;
+
+        private ImportProgress(UUID jobId) {
+            this.jobId = jobId;
+        }
+
+        private void reject(long lineNo, List<String> violations) {
+            rowsInvalid++;
+            addError(lineNo, String.join("; ", violations));
+        }
+
+        private void addError(long lineNo, String message) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("Line " + lineNo + ": " + message);
+            }
+        }
+
+        private ClientProfileImportJob snapshot() {
+            return ClientProfileImportJob.builder()
+                    .jobId(jobId)
+                    .state(state)
+                    .rowsRead(rowsRead)
+                    .rowsInvalid(rowsInvalid)
+                    .rowsImported(rowsImported)
+                    .rowsDuplicate(rowsDuplicate)
+                    .errors(List.copyOf(errors))
+                    .failureReason(failureReason)
+                    .build();
+        }
+    }
+
+    /**
+     * Minimal RFC 4180 reader: quoted fields may hold commas, doubled quotes and line breaks
+     */
+    private static final class CsvReader {
+        private static final int NONE = -2;
+
+        private final BufferedReader reader;
+        private int lookahead = NONE;
+        private long line = 1;
+        private long recordLine;
+
+        private CsvReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        // Line on which the last record returned started
+        private long getRecordLine() {
+            return recordLine;
+        }
+
+        private List<String> readRecord() throws IOException {
+            int c = next();
+            if (c == -1) {
+                return null;
+            }
+            recordLine = line;
+
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (; ; c = next()) {
+                if (field.length() > MAX_FIELD_LENGTH) {
+                    throw new IllegalArgumentException("Field on line " + line + " is longer than "
+                            + MAX_FIELD_LENGTH + " characters");
+                }
+                if (quoted) {
+                    if (c == -1) {
+                        throw new IllegalArgumentException("Unterminated quoted field starting on line " + recordLine);
+                    }
+                    if (c == '"') {
+                        int following = next();
+                        if (following == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            lookahead = following;
+                        }
+                        continue;
+                    }
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                    continue;
+                }
+
+                if (c == -1 || c == '\n') {
+                    fields.add(field.toString());
+                    if (c == '\n') {
+                        line++;
+                    }
+                    return fields;
+                }
+                if (c == '\r') {
+                    continue;
+                }
+                if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else {
+                    field.append((char) c);
+                }
+            }
+        }
+
+        private int next() throws IOException {
+            if (lookahead != NONE) {
+                int c = lookahead;
+                lookahead = NONE;
+                return c;
+            }
+            return reader.read();
+        }
+    }
+}
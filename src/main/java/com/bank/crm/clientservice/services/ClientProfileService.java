@@ -1,117 +1,456 @@
 package com.bank.crm.clientservice.services;
 
+import com.bank.crm.clientservice.dto.ClientContactDetails;
+import com.bank.crm.clientservice.dto.ClientNameSuggestion;
+import com.bank.crm.clientservice.dto.ClientProfileBulkResult;
 import com.bank.crm.clientservice.dto.ClientProfileCreateRequest;
+import com.bank.crm.clientservice.dto.ClientProfilePage;
 import com.bank.crm.clientservice.dto.ClientProfileUpdateRequest;
 import com.bank.crm.clientservice.dto.ClientProfileResponse;
+import com.bank.crm.clientservice.dto.ClientProfileSearchHit;
+import com.bank.crm.clientservice.dto.ClientProfileSearchPage;
+import com.bank.crm.clientservice.dto.ClientProfileVersion;
 import com.bank.crm.clientservice.dto.ClientStatusResponse;
+import com.bank.crm.clientservice.exceptions.BatchSizeExceededException;
 import com.bank.crm.clientservice.exceptions.ClientNotFoundException;
 import com.bank.crm.clientservice.exceptions.ClientNotPendingException;
+import com.bank.crm.clientservice.exceptions.ClientProfileConflictException;
+import com.bank.crm.clientservice.exceptions.ClientProfileVersionMismatchException;
+import com.bank.crm.clientservice.exceptions.InvalidSearchQueryException;
 import com.bank.crm.clientservice.exceptions.NonUniqueFieldException;
 import com.bank.crm.clientservice.models.ClientProfile;
 import com.bank.crm.clientservice.models.enums.ClientStatusTypes;
 import com.bank.crm.clientservice.models.enums.GenderTypes;
 import com.bank.crm.clientservice.repositories.ClientProfileRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.*;
-import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class ClientProfileService {
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int MAX_BULK_SIZE = 1_000;
+    public static final int MAX_SEARCH_PAGE_SIZE = 100;
+    // Version-check failures an update without If-Match absorbs before reporting a conflict
+    public static final int MAX_UPDATE_ATTEMPTS = 3;
+    // Shorter queries yield no trigram, so the index could not narrow the scan
+    public static final int MIN_SEARCH_QUERY_LENGTH = 3;
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientProfileService.class);
+
     private final ClientProfileRepository clientProfileRepository;
     private final LoggingService loggingService;
     private final VerificationService verificationService;
+    private final ClientProfileCacheService clientProfileCacheService;
+    private final Validator validator;
+    private final ClientNameSuggestionIndex clientNameSuggestionIndex;
+    private final PlatformTransactionManager transactionManager;
 
     public ClientProfileResponse createClientProfile( ClientProfileCreateRequest clientProfileCreateRequest, String userId) {
-        validateEmailAndPhoneUniqueness(clientProfileCreateRequest);
-        ClientProfile clientProfile = ClientProfile.builder()
-                .firstName(clientProfileCreateRequest.getFirstName())
-                .lastName(clientProfileCreateRequest.getLastName())
-                .dateOfBirth(clientProfileCreateRequest.getDateOfBirth())
-                .gender(GenderTypes.valueOf(clientProfileCreateRequest.getGender()))
-                .emailAddress(clientProfileCreateRequest.getEmailAddress())
-                .phoneNumber(clientProfileCreateRequest.getPhoneNumber())
-                .address(clientProfileCreateRequest.getAddress())
-                .city(clientProfileCreateRequest.getCity())
-                .state(clientProfileCreateRequest.getState())
-                .country(clientProfileCreateRequest.getCountry())
-                .postalCode(clientProfileCreateRequest.getPostalCode())
-                .status(ClientStatusTypes.PENDING)
-                .build();
+        ClientProfile clientProfile = newClientProfile(clientProfileCreateRequest, userId);
+
+        // The audit record commits or rolls back with the row
+        ClientProfile saved;
+        try {
+            saved = new TransactionTemplate(transactionManager).execute(status -> {
+                ClientProfile row = saveUnique(clientProfile);
+                loggingService.sendCreateLog(userId, row.getClientId().toString(), createRemarks(row, userId));
+                return row;
+            });
+        } catch (NonUniqueFieldException e) {
+            throw clashingContacts(clientProfile.getEmailAddress(), clientProfile.getPhoneNumber(), null, e);
+        }
+        clientNameSuggestionIndex.put(saved);
+        clientProfileCacheService.publishCreated(List.of(saved.getClientId()));
 
-        clientProfile.setAgent_id(userId);
+        return mapToClientProfileResponse(saved);
+    }
 
-        ClientProfile saved = clientProfileRepository.save(clientProfile);
+    /**
+     * Onboard many clients at once. Every item is validated and uniqueness-checked up front, the
+     * survivors go to the database as one JDBC batch, and each item gets its own result.
+     */
+    public List<ClientProfileBulkResult> createClientProfiles(List<ClientProfileCreateRequest> requests, String userId) {
+        if (requests.size() > MAX_BULK_SIZE) {
+            throw new BatchSizeExceededException(requests.size(), MAX_BULK_SIZE);
+        }
 
-        //Create remarks for logging
-        String remarks = String.format(
-                "Client profile created: Name - %s %s, Email - %s, Phone - %s, Status - %s under Agent ID - %s",
-                clientProfile.getFirstName(),
-                clientProfile.getLastName(),
-                clientProfile.getEmailAddress(),
-                clientProfile.getPhoneNumber(),
-                clientProfile.getStatus(),
-                userId
-        );
+        ClientProfileBulkResult[] results = new ClientProfileBulkResult[requests.size()];
+        Set<String> batchEmails = new HashSet<>();
+        Set<String> batchPhones = new HashSet<>();
+        List<Integer> candidates = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            ClientProfileCreateRequest request = requests.get(i);
+            List<String> violations = request == null
+                    ? List.of("Client profile must not be null")
+                    : validator.validate(request).stream().map(ConstraintViolation::getMessage).sorted().toList();
+            if (!violations.isEmpty()) {
+                results[i] = bulkResult(i, ClientProfileBulkResult.Status.INVALID, null, violations);
+                continue;
+            }
 
-        loggingService.sendCreateLog(userId, saved.getClientId().toString(), remarks);
+            // Only the first occurrence of an email or phone within the batch is kept
+            List<String> clashes = duplicateFields(
+                    !batchEmails.add(normalizeEmail(request.getEmailAddress())),
+                    !batchPhones.add(request.getPhoneNumber()));
+            if (!clashes.isEmpty()) {
+                results[i] = bulkResult(i, ClientProfileBulkResult.Status.DUPLICATE, null, clashes);
+                continue;
+            }
+            candidates.add(i);
+        }
 
-        return mapToClientProfileResponse(saved);
+        Set<String> takenEmails = new HashSet<>();
+        Set<String> takenPhones = new HashSet<>();
+        if (!candidates.isEmpty()) {
+            List<ClientContactDetails> taken = clientProfileRepository.findContactsMatching(
+                    candidates.stream().map(i -> requests.get(i).getEmailAddress()).toArray(String[]::new),
+                    candidates.stream().map(i -> requests.get(i).getPhoneNumber()).toArray(String[]::new));
+            for (ClientContactDetails contact : taken) {
+                takenEmails.add(normalizeEmail(contact.getEmailAddress()));
+                takenPhones.add(contact.getPhoneNumber());
+            }
+        }
+
+        List<Integer> insertIndexes = new ArrayList<>();
+        List<ClientProfile> toInsert = new ArrayList<>();
+        for (int i : candidates) {
+            ClientProfileCreateRequest request = requests.get(i);
+            List<String> clashes = duplicateFields(
+                    takenEmails.contains(normalizeEmail(request.getEmailAddress())),
+                    takenPhones.contains(request.getPhoneNumber()));
+            if (!clashes.isEmpty()) {
+                results[i] = bulkResult(i, ClientProfileBulkResult.Status.DUPLICATE, null, clashes);
+                continue;
+            }
+            insertIndexes.add(i);
+            toInsert.add(newClientProfile(request, userId));
+        }
+
+        if (!toInsert.isEmpty()) {
+            insertBatch(requests, userId, insertIndexes, toInsert, results);
+        }
+
+        return Arrays.asList(results);
+    }
+
+    private void insertBatch(List<ClientProfileCreateRequest> requests, String userId, List<Integer> insertIndexes,
+                             List<ClientProfile> toInsert, ClientProfileBulkResult[] results) {
+        List<ClientProfile> saved;
+        try {
+            saved = new TransactionTemplate(transactionManager).execute(status -> {
+                List<ClientProfile> rows = clientProfileRepository.saveAllAndFlush(toInsert);
+                Map<String, String> remarksByClientId = new LinkedHashMap<>();
+                for (ClientProfile profile : rows) {
+                    remarksByClientId.put(profile.getClientId().toString(), createRemarks(profile, userId));
+                }
+                loggingService.sendCreateLogs(userId, remarksByClientId);
+                return rows;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another writer claimed a value since the check, or a row broke another constraint. The
+            // whole batch rolled back, so settle the items one by one through the single-create path
+            logger.warn("Bulk insert of {} client profiles hit a constraint violation, retrying individually",
+                    toInsert.size());
+            for (int i : insertIndexes) {
+                try {
+                    ClientProfileResponse created = createClientProfile(requests.get(i), userId);
+                    results[i] = bulkResult(i, ClientProfileBulkResult.Status.CREATED, created.getClientId(), List.of());
+                } catch (NonUniqueFieldException ex) {
+                    results[i] = bulkResult(i, ClientProfileBulkResult.Status.DUPLICATE, null,
+                            List.of(ex.getInvalidFields()));
+                } catch (DataIntegrityViolationException ex) {
+                    // e.g. a CHECK constraint in the schema that bean validation does not mirror
+                    results[i] = bulkResult(i, ClientProfileBulkResult.Status.INVALID, null,
+                            List.of("Client profile was rejected by the database"));
+                }
+            }
+            return;
+        }
+
+        clientNameSuggestionIndex.putAll(saved);
+        clientProfileCacheService.publishCreated(saved.stream().map(ClientProfile::getClientId).toList());
+
+        for (int n = 0; n < saved.size(); n++) {
+            int i = insertIndexes.get(n);
+            results[i] = bulkResult(i, ClientProfileBulkResult.Status.CREATED, saved.get(n).getClientId(), List.of());
+        }
     }
 
     public void deleteClientProfile(UUID clientId, String userId) {
-        var existingProfile = getClientProfile(clientId);
-        existingProfile.setStatus(ClientStatusTypes.INACTIVE);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            int updated = clientProfileRepository.transitionStatus(
+                    clientId, EnumSet.of(ClientStatusTypes.PENDING, ClientStatusTypes.ACTIVE), ClientStatusTypes.INACTIVE);
+            if (updated == 0) {
+                throw new ClientNotFoundException(clientId);
+            }
+            clientProfileCacheService.evict(clientId);
 
-        String remarks = String.format(
-                "Client profile with ID %s deleted by agent %s.",
-                clientId,
-                userId
-        );
+            loggingService.sendDeleteLog(userId, clientId.toString(),
+                    "Client profile with ID " + clientId + " deleted by agent " + userId + ".");
+        });
+        clientNameSuggestionIndex.remove(clientId);
+    }
+
+    public ClientProfileResponse getClientProfile(UUID clientId) {
+        return clientProfileCacheService.get(clientId, () ->
+                clientProfileRepository.findResponseById(clientId, ClientStatusTypes.INACTIVE)
+                        .orElseThrow(() -> new ClientNotFoundException(clientId)));
+    }
+
+    /**
+     * Profiles for a set of ids, in request order and without duplicates; missing and INACTIVE
+     * clients are left out. Cached profiles are served from the cache and the rest read in one query.
+     * The profiles returned are audited as a batch read by userId, like the agent portfolio read.
+     */
+    public List<ClientProfileResponse> getClientProfiles(Collection<UUID> clientIds, String userId) {
+        Set<UUID> ids = new LinkedHashSet<>(clientIds);
+        if (ids.size() > MAX_BULK_SIZE) {
+            throw new BatchSizeExceededException(ids.size(), MAX_BULK_SIZE);
+        }
+
+        Map<UUID, ClientProfileResponse> responsesById = new HashMap<>();
+        List<UUID> misses = new ArrayList<>();
+        for (UUID clientId : ids) {
+            ClientProfileResponse cached = clientProfileCacheService.getIfPresent(clientId);
+            if (cached != null) {
+                responsesById.put(clientId, cached);
+            } else {
+                misses.add(clientId);
+            }
+        }
+        if (!misses.isEmpty()) {
+            for (ClientProfileResponse response : clientProfileRepository.findActiveResponsesByIds(misses)) {
+                responsesById.put(response.getClientId(), response);
+            }
+        }
 
-        loggingService.sendDeleteLog(userId, clientId.toString(), remarks);
+        List<ClientProfileResponse> items = new ArrayList<>(responsesById.size());
+        List<UUID> returnedIds = new ArrayList<>(responsesById.size());
+        for (UUID clientId : ids) {
+            ClientProfileResponse response = responsesById.get(clientId);
+            if (response != null) {
+                items.add(response);
+                returnedIds.add(clientId);
+            }
+        }
 
-        clientProfileRepository.save(existingProfile);
+        if (!returnedIds.isEmpty()) {
+            loggingService.sendReadLogs(userId, returnedIds,
+                    "Batch retrieval of client profiles by " + userId + ".");
+        }
+        return items;
     }
 
-    public ClientProfile getClientProfile(UUID clientId) {
-        return clientProfileRepository.findById(clientId)
-                .filter(profile -> profile.getStatus() != ClientStatusTypes.INACTIVE)
+    /**
+     * Version of the profile for conditional requests: taken from the cache when the profile is
+     * there (evictions keep it current), otherwise read on its own without loading the profile
+     */
+    public ClientProfileVersion getClientProfileVersion(UUID clientId) {
+        ClientProfileResponse cached = clientProfileCacheService.getIfPresent(clientId);
+        if (cached != null) {
+            return new ClientProfileVersion(cached.getVersion(), cached.getUpdatedAt());
+        }
+        return clientProfileRepository.findVersionById(clientId)
                 .orElseThrow(() -> new ClientNotFoundException(clientId));
     }
 
-    public List<ClientProfile> getClientProfiles(String userId) {
-        String remarks = String.format(
-                "Batch retrieval of client profiles under Agent %s.",
-                userId
-        );
+    public List<ClientProfileResponse> getClientProfiles(String userId) {
+         List<ClientProfileResponse> clientProfiles =
+                 clientProfileRepository.findActiveByAgentId(userId);
 
-         List<ClientProfile> clientProfiles =  clientProfileRepository.findAll().stream()
-                .filter(profile -> profile.getStatus() != ClientStatusTypes.INACTIVE)
-                .filter(profile -> profile.getAgent_id().equals(userId))
-                .toList();
+        List<UUID> clientIds = new ArrayList<>(clientProfiles.size());
+        for (ClientProfileResponse profile : clientProfiles) {
+            clientIds.add(profile.getClientId());
+        }
+
+        loggingService.sendReadLogs(userId, clientIds,
+                "Batch retrieval of client profiles under Agent " + userId + ".");
 
-         List <String> clientIds = new ArrayList<>();
-            for (ClientProfile profile : clientProfiles) {
-                clientIds.add(profile.getClientId().toString());
+        return clientProfiles;
+    }
+
+    /**
+     * One keyset page of the agent's portfolio, audited as a read of just the clients on it, so a
+     * stream the caller abandons early only records what was handed out
+     */
+    public ClientProfilePage getClientProfilePage(String userId, UUID after, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        Limit fetchLimit = Limit.of(pageSize + 1);
+
+        List<ClientProfileResponse> rows = after == null
+                ? clientProfileRepository.findActiveFirstPageByAgentId(userId, fetchLimit)
+                : clientProfileRepository.findActivePageByAgentIdAfter(userId, after, fetchLimit);
+
+        List<ClientProfileResponse> items = List.copyOf(rows.subList(0, Math.min(rows.size(), pageSize)));
+        if (!items.isEmpty()) {
+            List<UUID> clientIds = new ArrayList<>(items.size());
+            for (ClientProfileResponse profile : items) {
+                clientIds.add(profile.getClientId());
             }
+            loggingService.sendReadLogs(userId, clientIds,
+                    "Batch retrieval of client profiles under Agent " + userId + ".");
+        }
 
-        loggingService.sendReadLog(userId, clientIds.toString(), remarks);
+        UUID next = rows.size() > pageSize ? items.get(pageSize - 1).getClientId() : null;
+        return new ClientProfilePage(items, next);
+    }
 
-        return clientProfiles;
+    public ClientProfilePage getClientProfilePage(UUID after, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        // Fetch one extra row to find out whether another page follows
+        Limit fetchLimit = Limit.of(pageSize + 1);
+
+        List<ClientProfileResponse> rows = after == null
+                ? clientProfileRepository.findFirstPage(ClientStatusTypes.INACTIVE, fetchLimit)
+                : clientProfileRepository.findPageAfter(after, ClientStatusTypes.INACTIVE, fetchLimit);
+
+        if (rows.size() <= pageSize) {
+            return new ClientProfilePage(rows, null);
+        }
+
+        List<ClientProfileResponse> items = List.copyOf(rows.subList(0, pageSize));
+        return new ClientProfilePage(items, items.get(pageSize - 1).getClientId());
     }
 
-    public List<ClientProfile> getAllClientProfiles() {
-        return clientProfileRepository.findAll().stream()
-                .filter(profile -> profile.getStatus() != ClientStatusTypes.INACTIVE)
-                .toList();
+    /**
+     * Substring search over name, email and city, ranked by similarity and keyset-paginated on
+     * (score, clientId)
+     */
+    public ClientProfileSearchPage searchClientProfiles(String query, String after, int limit) {
+        String trimmed = query == null ? "" : query.trim();
+        if (trimmed.length() < MIN_SEARCH_QUERY_LENGTH) {
+            throw new InvalidSearchQueryException(
+                    "Search query must be at least " + MIN_SEARCH_QUERY_LENGTH + " characters");
+        }
+        int pageSize = Math.min(Math.max(limit, 1), MAX_SEARCH_PAGE_SIZE);
+        String pattern = "%" + escapeLikePattern(trimmed) + "%";
+
+        // Fetch one extra hit to find out whether another page follows
+        List<ClientProfileSearchHit> hits;
+        if (after == null) {
+            hits = clientProfileRepository.searchFirstPage(trimmed, pattern, pageSize + 1);
+        } else {
+            SearchCursor cursor = SearchCursor.parse(after);
+            hits = clientProfileRepository.searchPageAfter(trimmed, pattern, cursor.score(), cursor.clientId(), pageSize + 1);
+        }
+
+        List<ClientProfileSearchHit> pageHits = hits.size() > pageSize ? hits.subList(0, pageSize) : hits;
+        if (pageHits.isEmpty()) {
+            return new ClientProfileSearchPage(List.of(), null);
+        }
+
+        Map<UUID, ClientProfileResponse> responsesById = new HashMap<>();
+        for (ClientProfileResponse response : clientProfileRepository.findActiveResponsesByIds(
+                pageHits.stream().map(ClientProfileSearchHit::getClientId).toList())) {
+            responsesById.put(response.getClientId(), response);
+        }
+
+        List<ClientProfileResponse> items = new ArrayList<>(pageHits.size());
+        for (ClientProfileSearchHit hit : pageHits) {
+            // A client deactivated between the two reads simply drops out of the page
+            ClientProfileResponse response = responsesById.get(hit.getClientId());
+            if (response != null) {
+                items.add(response);
+            }
+        }
+
+        ClientProfileSearchHit last = pageHits.get(pageHits.size() - 1);
+        String next = hits.size() > pageSize ? new SearchCursor(last.getScore(), last.getClientId()).format() : null;
+        return new ClientProfileSearchPage(items, next);
+    }
+
+    /**
+     * Typeahead over the names of the agent's own non-INACTIVE clients, served from memory
+     */
+    public List<ClientNameSuggestion> suggestClientNames(String userId, String prefix, int limit) {
+        return clientNameSuggestionIndex.suggest(userId, prefix, limit);
     }
 
     public ClientProfileResponse updateClientProfile(UUID clientId, ClientProfileUpdateRequest clientProfileUpdateRequest, String userId) {
-        var existingProfile = getClientProfile(clientId);
-        validateEmailAndPhoneUniqueness(clientId, clientProfileUpdateRequest);
+        return updateClientProfile(clientId, clientProfileUpdateRequest, userId, null);
+    }
+
+    /**
+     * Apply the non-null fields of the request, only if the profile is still at expectedVersion
+     * (the If-Match of the request; null skips the check).
+     * The UPDATE is version-checked, so a write landing between our read and our flush is never
+     * overwritten. With If-Match that is a failed precondition. Without it the update is retried on a
+     * fresh read, up to MAX_UPDATE_ATTEMPTS times, as long as the other write left the requested
+     * fields alone (e.g. a verification activating the client); otherwise it is a conflict.
+     */
+    public ClientProfileResponse updateClientProfile(UUID clientId, ClientProfileUpdateRequest clientProfileUpdateRequest,
+                                                     String userId, Long expectedVersion) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Map<String, Object> firstRead = new HashMap<>();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                UpdateOutcome outcome = transaction.execute(status -> applyUpdate(
+                        clientId, clientProfileUpdateRequest, userId, expectedVersion, firstRead));
+                // After commit, so a rolled-back attempt never leaves its name in the index
+                if (outcome.renamed() != null) {
+                    clientNameSuggestionIndex.put(outcome.renamed());
+                }
+                return outcome.response();
+            } catch (NonUniqueFieldException e) {
+                throw clashingContacts(clientProfileUpdateRequest.getEmailAddress(),
+                        clientProfileUpdateRequest.getPhoneNumber(), clientId, e);
+            } catch (OptimisticLockingFailureException e) {
+                if (expectedVersion != null) {
+                    throw new ClientProfileVersionMismatchException(clientId);
+                }
+                if (attempt == MAX_UPDATE_ATTEMPTS) {
+                    throw new ClientProfileConflictException(clientId);
+                }
+                logger.info("Client profile {} changed while being updated, retrying ({}/{})",
+                        clientId, attempt, MAX_UPDATE_ATTEMPTS);
+            }
+        }
+    }
+
+    /**
+     * Result of one update attempt; renamed is the stored profile when its name changed
+     */
+    private record UpdateOutcome(ClientProfileResponse response, ClientProfile renamed) {
+    }
+
+    /**
+     * One attempt, in one transaction so the loaded entity stays managed: the save needs no second
+     * SELECT, the audit before-values come from that single read, and the UPDATE only sets changed
+     * columns
+     */
+    private UpdateOutcome applyUpdate(UUID clientId, ClientProfileUpdateRequest clientProfileUpdateRequest,
+                                              String userId, Long expectedVersion, Map<String, Object> firstRead) {
+        var existingProfile = getActiveClientProfile(clientId);
+        if (expectedVersion != null && !expectedVersion.equals(existingProfile.getVersion())) {
+            throw new ClientProfileVersionMismatchException(clientId);
+        }
+
+        Map<String, Object> current = editableValues(existingProfile);
+        if (firstRead.isEmpty()) {
+            firstRead.putAll(current);
+        } else {
+            // A retry: whoever beat us must not have touched what this request sets
+            for (String field : requestedFields(clientProfileUpdateRequest)) {
+                if (!Objects.equals(firstRead.get(field), current.get(field))) {
+                    throw new ClientProfileConflictException(clientId);
+                }
+            }
+        }
 
         List<String> changedFields = new ArrayList<>();
         List<String> beforeValues = new ArrayList<>();
@@ -197,66 +536,184 @@ public class ClientProfileService {
             existingProfile.setPostalCode(clientProfileUpdateRequest.getPostalCode());
         }
 
-        if (!changedFields.isEmpty()) {
-            String fieldNames = String.join(" | ", changedFields);
-            String beforeValue = String.join(" | ", beforeValues);
-            String afterValue = String.join(" | ", afterValues);
-            String remarks = String.format("Updated fields: %s", fieldNames);
-
-            loggingService.sendUpdateLog(userId, clientId.toString(), fieldNames, beforeValue, afterValue, remarks);
+        if (changedFields.isEmpty()) {
+            return new UpdateOutcome(mapToClientProfileResponse(existingProfile), null);
         }
 
-        ClientProfile updated = clientProfileRepository.save(existingProfile);
-        return mapToClientProfileResponse(updated);
+        // Stored first so a rejected email or phone leaves no audit record behind
+        ClientProfile updated = saveUnique(existingProfile);
+        clientProfileCacheService.evict(clientId);
+        boolean renamed = changedFields.contains("First Name") || changedFields.contains("Last Name");
+
+        String fieldNames = String.join(" | ", changedFields);
+        String beforeValue = String.join(" | ", beforeValues);
+        String afterValue = String.join(" | ", afterValues);
+        loggingService.sendUpdateLog(userId, clientId.toString(), fieldNames, beforeValue, afterValue,
+                "Updated fields: " + fieldNames);
+
+        return new UpdateOutcome(mapToClientProfileResponse(updated), renamed ? updated : null);
     }
 
 
     public ClientStatusResponse updateClientStatus(UUID clientId, boolean activate, String userId) {
-        ClientProfile clientProfile = clientProfileRepository.findById(clientId)
-                .orElseThrow(() -> new ClientNotFoundException(clientId));
+        ClientStatusTypes newStatus = activate ? ClientStatusTypes.ACTIVE : ClientStatusTypes.INACTIVE;
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            int updated = clientProfileRepository.transitionStatus(
+                    clientId, EnumSet.of(ClientStatusTypes.PENDING), newStatus);
+            if (updated == 0) {
+                // Only a failed transition pays for the lookup that tells the two errors apart
+                if (!clientProfileRepository.existsById(clientId)) {
+                    throw new ClientNotFoundException(clientId);
+                }
+                throw new ClientNotPendingException("Client status must be PENDING to verify");
+            }
+            clientProfileCacheService.evict(clientId);
 
-        if (clientProfile.getStatus() != ClientStatusTypes.PENDING) {
-            throw new ClientNotPendingException("Client status must be PENDING to verify");
+            loggingService.sendUpdateLog(userId, clientId.toString(), "Status", ClientStatusTypes.PENDING.name(), newStatus.name(),
+                    "Client status updated to " + newStatus + " by agent " + userId + ".");
+        });
+        if (newStatus == ClientStatusTypes.INACTIVE) {
+            clientNameSuggestionIndex.remove(clientId);
         }
 
-        clientProfile.setStatus(activate ? ClientStatusTypes.ACTIVE : ClientStatusTypes.INACTIVE);
+        return new ClientStatusResponse(clientId, newStatus.name());
+    }
+
+    /**
+     * The status check, the request to the verification queue and its audit record run in one
+     * transaction, so a failed send leaves no "Initiated" record in the outbox
+     */
+    public ClientStatusResponse initialiseAutoVerificationProcess(UUID clientId, String userId, String agentEmail, String clientEmail) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            ClientProfile clientProfile = clientProfileRepository.findById(clientId)
+                    .orElseThrow(() -> new ClientNotFoundException(clientId));
+
+            if (clientProfile.getStatus() != ClientStatusTypes.PENDING) {
+                throw new ClientNotPendingException("Client status must be PENDING to verify");
+            }
 
-        ClientProfile updated = clientProfileRepository.save(clientProfile);
+            // Send verification request to SQS
+            verificationService.sendVerificationRequest(clientId, userId, agentEmail, clientEmail);
 
-        String remarks = String.format(
-                "Client status updated to %s by agent %s.",
-                updated.getStatus(),
-                userId
-        );
-        loggingService.sendUpdateLog(userId, clientId.toString(), "Status", ClientStatusTypes.PENDING.name(), updated.getStatus().name(), remarks);
+            loggingService.sendUpdateLog(userId, clientId.toString(), "Auto-Verification", "Not Started", "Initiated",
+                    "Auto-verification process initiated for client " + clientId + " by agent " + userId
+                            + ". Client email: " + clientEmail + ", Agent email: " + agentEmail
+                            + ". Verification request sent to queue.");
 
-        return new ClientStatusResponse(updated.getClientId(), updated.getStatus().name());
+            return new ClientStatusResponse(clientProfile.getClientId(), clientProfile.getStatus().name());
+        });
     }
 
-    public ClientStatusResponse initialiseAutoVerificationProcess(UUID clientId, String userId, String agentEmail, String clientEmail) {
-        ClientProfile clientProfile = clientProfileRepository.findById(clientId)
+
+
+    private ClientProfile getActiveClientProfile(UUID clientId) {
+        return clientProfileRepository.findById(clientId)
+                .filter(profile -> profile.getStatus() != ClientStatusTypes.INACTIVE)
                 .orElseThrow(() -> new ClientNotFoundException(clientId));
+    }
 
-        if (clientProfile.getStatus() != ClientStatusTypes.PENDING) {
-            throw new ClientNotPendingException("Client status must be PENDING to verify");
-        }
+    // Keyed by the labels used in the update audit log
+    private static Map<String, Object> editableValues(ClientProfile clientProfile) {
+        Map<String, Object> values = new HashMap<>();
+        values.put("First Name", clientProfile.getFirstName());
+        values.put("Last Name", clientProfile.getLastName());
+        values.put("Date of Birth", clientProfile.getDateOfBirth());
+        values.put("Gender", clientProfile.getGender());
+        values.put("Email Address", clientProfile.getEmailAddress());
+        values.put("Phone Number", clientProfile.getPhoneNumber());
+        values.put("Address", clientProfile.getAddress());
+        values.put("City", clientProfile.getCity());
+        values.put("State", clientProfile.getState());
+        values.put("Country", clientProfile.getCountry());
+        values.put("Postal Code", clientProfile.getPostalCode());
+        return values;
+    }
+
+    private static List<String> requestedFields(ClientProfileUpdateRequest request) {
+        List<String> fields = new ArrayList<>();
+        if (request.getFirstName() != null) fields.add("First Name");
+        if (request.getLastName() != null) fields.add("Last Name");
+        if (request.getDateOfBirth() != null) fields.add("Date of Birth");
+        if (request.getGender() != null) fields.add("Gender");
+        if (request.getEmailAddress() != null) fields.add("Email Address");
+        if (request.getPhoneNumber() != null) fields.add("Phone Number");
+        if (request.getAddress() != null) fields.add("Address");
+        if (request.getCity() != null) fields.add("City");
+        if (request.getState() != null) fields.add("State");
+        if (request.getCountry() != null) fields.add("Country");
+        if (request.getPostalCode() != null) fields.add("Postal Code");
+        return fields;
+    }
+
+    private static ClientProfile newClientProfile(ClientProfileCreateRequest clientProfileCreateRequest, String userId) {
+        return ClientProfile.builder()
+                .firstName(clientProfileCreateRequest.getFirstName())
+                .lastName(clientProfileCreateRequest.getLastName())
+                .dateOfBirth(clientProfileCreateRequest.getDateOfBirth())
+                .gender(GenderTypes.valueOf(clientProfileCreateRequest.getGender()))
+                .emailAddress(clientProfileCreateRequest.getEmailAddress())
+                .phoneNumber(clientProfileCreateRequest.getPhoneNumber())
+                .address(clientProfileCreateRequest.getAddress())
+                .city(clientProfileCreateRequest.getCity())
+                .state(clientProfileCreateRequest.getState())
+                .country(clientProfileCreateRequest.getCountry())
+                .postalCode(clientProfileCreateRequest.getPostalCode())
+                .status(ClientStatusTypes.PENDING)
+                .agent_id(userId)
+                .build();
+    }
 
-        // Send verification request to SQS
-        verificationService.sendVerificationRequest(clientId, userId, agentEmail, clientEmail);
+    static String createRemarks(ClientProfile clientProfile, String userId) {
+        return "Client profile created: Name - " + clientProfile.getFirstName() + " " + clientProfile.getLastName()
+                + ", Email - " + clientProfile.getEmailAddress() + ", Phone - " + clientProfile.getPhoneNumber()
+                + ", Status - " + clientProfile.getStatus() + " under Agent ID - " + userId;
+    }
 
-        String remarks = String.format(
-                "Auto-verification process initiated for client %s by agent %s. Client email: %s, Agent email: %s. Verification request sent to queue.",
-                clientId,
-                userId,
-                clientEmail,
-                agentEmail
-        );
-        loggingService.sendUpdateLog(userId, clientId.toString(), "Auto-Verification", "Not Started", "Initiated", remarks);
+    private static ClientProfileBulkResult bulkResult(int index, ClientProfileBulkResult.Status status,
+                                                      UUID clientId, List<String> errors) {
+        return new ClientProfileBulkResult(index, status, clientId, errors);
+    }
 
-        return new ClientStatusResponse(clientProfile.getClientId(), clientProfile.getStatus().name());
+    private static List<String> duplicateFields(boolean emailTaken, boolean phoneTaken) {
+        List<String> fields = new ArrayList<>(2);
+        if (emailTaken) {
+            fields.add("emailAddress");
+        }
+        if (phoneTaken) {
+            fields.add("phoneNumber");
+        }
+        return fields;
     }
 
+    private static String escapeLikePattern(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Position after the last hit of a page, serialised as "score:clientId"
+     */
+    private record SearchCursor(float score, UUID clientId) {
+
+        static SearchCursor parse(String value) {
+            int separator = value.indexOf(':');
+            try {
+                return new SearchCursor(Float.parseFloat(value.substring(0, separator)),
+                        UUID.fromString(value.substring(separator + 1)));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new InvalidSearchQueryException("Invalid search cursor: " + value);
+            }
+        }
+
+        String format() {
+            return score + ":" + clientId;
+        }
+    }
 
+    // email_address is citext, so uniqueness is case-insensitive
+    private static String normalizeEmail(String emailAddress) {
+        return emailAddress.toLowerCase(Locale.ROOT);
+    }
 
     private ClientProfileResponse mapToClientProfileResponse(ClientProfile clientProfile) {
         return ClientProfileResponse.builder()
@@ -272,32 +729,53 @@ public class ClientProfileService {
                 .state(clientProfile.getState())
                 .country(clientProfile.getCountry())
                 .postalCode(clientProfile.getPostalCode())
+                .status(clientProfile.getStatus())
+                .agentId(clientProfile.getAgent_id())
+                .version(clientProfile.getVersion())
+                .updatedAt(clientProfile.getUpdatedAt())
                 .build();
     }
 
-    private void validateEmailAndPhoneUniqueness(UUID clientId, ClientProfileUpdateRequest request) {
-        List<String> errors = Stream.of(
-                request.getEmailAddress() != null && clientProfileRepository.existsByEmailAddressAndClientIdNot(request.getEmailAddress(), clientId)
-                        ? "emailAddress" : null,
-                request.getPhoneNumber() != null && clientProfileRepository.existsByPhoneNumberAndClientIdNot(request.getPhoneNumber(), clientId)
-                        ? "phoneNumber" : null
-        ).filter(Objects::nonNull).toList();
-
-        if (!errors.isEmpty()) {
-            throw new NonUniqueFieldException(errors.toArray(new String[0]));
+    /**
+     * Write the profile and let the unique constraints decide whether its email and phone are free
+     */
+    private ClientProfile saveUnique(ClientProfile clientProfile) {
+        try {
+            return clientProfileRepository.saveAndFlush(clientProfile);
+        } catch (DataIntegrityViolationException e) {
+            // Postgres stops at the first violated constraint; the caller looks up the rest
+            String violatedField = ClientProfile.UNIQUE_CONSTRAINT_FIELDS.get(violatedConstraintName(e));
+            if (violatedField == null) {
+                throw e;
+            }
+            throw new NonUniqueFieldException(new String[]{violatedField});
         }
     }
 
-    private void validateEmailAndPhoneUniqueness(ClientProfileCreateRequest clientProfileCreateRequest) {
-        List<String> errors = Stream.of(
-                clientProfileCreateRequest.getEmailAddress() != null && clientProfileRepository.existsByEmailAddress(clientProfileCreateRequest.getEmailAddress())
-                        ? "emailAddress" : null,
-                clientProfileCreateRequest.getPhoneNumber() != null && clientProfileRepository.existsByPhoneNumber(clientProfileCreateRequest.getPhoneNumber())
-                        ? "phoneNumber" : null
-        ).filter(Objects::nonNull).toList();
+    /**
+     * Postgres reports only the first violated constraint, so after the rollback one lookup finds
+     * every field that clashes. Falls back to the reported field if the other row is gone by then.
+     */
+    private NonUniqueFieldException clashingContacts(String emailAddress, String phoneNumber, UUID ownClientId,
+                                                     NonUniqueFieldException reported) {
+        boolean emailTaken = false;
+        boolean phoneTaken = false;
+        for (ClientContactDetails contact : clientProfileRepository.findContactsClashingWith(
+                emailAddress, phoneNumber, ownClientId)) {
+            emailTaken |= emailAddress != null
+                    && normalizeEmail(emailAddress).equals(normalizeEmail(contact.getEmailAddress()));
+            phoneTaken |= phoneNumber != null && phoneNumber.equals(contact.getPhoneNumber());
+        }
+        List<String> fields = duplicateFields(emailTaken, phoneTaken);
+        return fields.isEmpty() ? reported : new NonUniqueFieldException(fields.toArray(String[]::new));
+    }
 
-        if (!errors.isEmpty()) {
-            throw new NonUniqueFieldException(errors.toArray(new String[0]));
+    private static String violatedConstraintName(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase(Locale.ROOT);
+            }
         }
+        return null;
     }
-}
\ No newline at end of file
+}
@@ -1,115 +1,123 @@
 package com.bank.crm.clientservice.services;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.bank.crm.clientservice.dto.AuditEvent;
+import com.bank.crm.clientservice.dto.AuditEvent.Operation;
+import com.bank.crm.clientservice.repositories.AuditOutboxRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import software.amazon.awssdk.services.sqs.SqsClient;
-import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
-import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
+/**
+ * Audit log messages. Each one is written to the audit outbox in the caller's transaction, so it
+ * exists exactly when the change it describes does, and is sent to SQS later by
+ * {@link AuditOutboxRelay}. A failed write fails the caller's transaction with it.
+ */
 @Service
 public class LoggingService {
 
     private static final Logger logger = LoggerFactory.getLogger(LoggingService.class);
-    private static final DateTimeFormatter ISO_FORMATTER = DateTimeFormatter.ISO_DATE_TIME;
 
-    private final SqsClient sqsClient;
-    private final ObjectMapper objectMapper;
+    private final AuditEventEncoder auditEventEncoder;
+    private final AuditOutboxRepository auditOutboxRepository;
+    private final int maxIdsPerMessage;
 
-    @Value("${aws.sqs.logging-queue-url}")
-    private String queueUrl;
-
-    public LoggingService(SqsClient sqsClient, ObjectMapper objectMapper) {
-        this.sqsClient = sqsClient;
-        this.objectMapper = objectMapper;
+    public LoggingService(AuditEventEncoder auditEventEncoder,
+                          AuditOutboxRepository auditOutboxRepository,
+                          @Value("${audit.read-log.max-ids-per-message:1000}") int maxIdsPerMessage) {
+        this.auditEventEncoder = auditEventEncoder;
+        this.auditOutboxRepository = auditOutboxRepository;
+        this.maxIdsPerMessage = maxIdsPerMessage;
     }
 
     public void sendCreateLog(String agentId, String clientId, String remarks) {
         logger.info("Preparing to send CREATE log for clientId: {}, agentId: {}", clientId, agentId);
-        Map<String, Object> messageBody = new HashMap<>();
-        messageBody.put("crud_operation", "Create");
-        messageBody.put("attribute_name", "");
-        messageBody.put("before_value", "");
-        messageBody.put("after_value", "");
-        messageBody.put("agent_id", agentId);
-        messageBody.put("client_id", clientId);
-        messageBody.put("date_time", LocalDateTime.now().format(ISO_FORMATTER));
-        messageBody.put("remarks", remarks);
-
-        sendMessage(messageBody);
+        send(new AuditEvent(Operation.CREATE, null, null, null, agentId, clientId, Instant.now(), remarks));
     }
 
-    public void sendReadLog(String agentId, String clientId, String remarks) {
-        Map<String, Object> messageBody = new HashMap<>();
-        messageBody.put("crud_operation", "Read");
-        messageBody.put("attribute_name", "");
-        messageBody.put("before_value", "");
-        messageBody.put("after_value", "");
-        messageBody.put("agent_id", agentId);
-        messageBody.put("client_id", clientId);
-        messageBody.put("date_time", LocalDateTime.now().format(ISO_FORMATTER));
-        messageBody.put("remarks", remarks);
-
-        sendMessage(messageBody);
+    /**
+     * One CREATE log per client, written to the outbox as one JDBC batch
+     */
+    public void sendCreateLogs(String agentId, Map<String, String> remarksByClientId) {
+        auditOutboxRepository.append(createLogPayloads(agentId, remarksByClientId));
     }
 
-    public void sendUpdateLog(String agentId, String clientId, String attributeName, String beforeValue, String afterValue, String remarks) {
-        Map<String, Object> messageBody = new HashMap<>();
-        messageBody.put("crud_operation", "Update");
-        messageBody.put("attribute_name", attributeName);
-        messageBody.put("before_value", beforeValue != null ? beforeValue : "");
-        messageBody.put("after_value", afterValue != null ? afterValue : "");
-        messageBody.put("agent_id", agentId);
-        messageBody.put("client_id", clientId);
-        messageBody.put("date_time", LocalDateTime.now().format(ISO_FORMATTER));
-        messageBody.put("remarks", remarks);
-
-        sendMessage(messageBody);
+    /**
+     * As {@link #sendCreateLogs(String, Map)}, in the transaction open on the given connection
+     */
+    public void sendCreateLogs(Connection connection, String agentId, Map<String, String> remarksByClientId)
+            throws SQLException {
+        auditOutboxRepository.append(connection, createLogPayloads(agentId, remarksByClientId));
     }
 
-    public void sendDeleteLog(String agentId, String clientId, String remarks) {
-        Map<String, Object> messageBody = new HashMap<>();
-        messageBody.put("crud_operation", "Delete");
-        messageBody.put("attribute_name", "");
-        messageBody.put("before_value", "");
-        messageBody.put("after_value", "");
-        messageBody.put("agent_id", agentId);
-        messageBody.put("client_id", clientId);
-        messageBody.put("date_time", LocalDateTime.now().format(ISO_FORMATTER));
-        messageBody.put("remarks", remarks);
-
-        sendMessage(messageBody);
+    private List<String> createLogPayloads(String agentId, Map<String, String> remarksByClientId) {
+        Instant now = Instant.now();
+        List<String> payloads = new ArrayList<>(remarksByClientId.size());
+        remarksByClientId.forEach((clientId, remarks) -> payloads.add(auditEventEncoder.encode(
+                new AuditEvent(Operation.CREATE, null, null, null, agentId, clientId, now, remarks))));
+        return payloads;
     }
 
-    private void sendMessage(Map<String, Object> messageBody) {
-        try {
-            logger.info("Attempting to send message to SQS queue: {}", queueUrl);
-            logger.debug("Message body: {}", messageBody);
-
-            String jsonMessage = objectMapper.writeValueAsString(messageBody);
-            logger.debug("JSON message: {}", jsonMessage);
+    public void sendReadLog(String agentId, String clientId, String remarks) {
+        send(new AuditEvent(Operation.READ, null, null, null, agentId, clientId, Instant.now(), remarks));
+    }
 
-            SendMessageRequest sendMessageRequest = SendMessageRequest.builder()
-                    .queueUrl(queueUrl)
-                    .messageBody(jsonMessage)
-                    .build();
+    /**
+     * READ log for a list of clients. client_id holds the IDs as "[id, id, ...]", split into parts of
+     * at most max-ids-per-message IDs so a large portfolio stays well inside the SQS message size.
+     * Parts carry a shared correlation ID and their sequence, and are written in one JDBC batch.
+     */
+    public void sendReadLogs(String agentId, List<UUID> clientIds, String remarks) {
+        Instant now = Instant.now();
+        if (clientIds.size() <= maxIdsPerMessage) {
+            send(new AuditEvent(Operation.READ, null, null, null, agentId, idList(clientIds), now, remarks));
+            return;
+        }
 
-            SendMessageResponse response = sqsClient.sendMessage(sendMessageRequest);
-            logger.info("Successfully sent log message to SQS. MessageId: {}, Queue: {}",
-                    response.messageId(), queueUrl);
+        int total = (clientIds.size() + maxIdsPerMessage - 1) / maxIdsPerMessage;
+        String correlationId = UUID.randomUUID().toString();
+        List<String> payloads = new ArrayList<>(total);
+        for (int part = 0; part < total; part++) {
+            List<UUID> ids = clientIds.subList(part * maxIdsPerMessage,
+                    Math.min(clientIds.size(), (part + 1) * maxIdsPerMessage));
+            payloads.add(auditEventEncoder.encode(
+                    new AuditEvent(Operation.READ, null, null, null, agentId, idList(ids), now, remarks),
+                    new AuditEvent.Chunk(correlationId, part + 1, total)));
+        }
+        logger.debug("Writing READ log for {} clients as {} parts, correlation ID {}", clientIds.size(), total, correlationId);
+        auditOutboxRepository.append(payloads);
+    }
 
-        } catch (Exception e) {
-            logger.error("Failed to send log message to SQS. Queue: {}, Error: {}",
-                    queueUrl, e.getMessage(), e);
-            // Print stack trace for debugging
-            e.printStackTrace();
+    // The text List.toString gives, built in one sized buffer
+    private static String idList(List<UUID> ids) {
+        StringBuilder text = new StringBuilder(ids.size() * 38 + 2).append('[');
+        for (int i = 0; i < ids.size(); i++) {
+            if (i > 0) {
+                text.append(", ");
+            }
+            text.append(ids.get(i));
         }
+        return text.append(']').toString();
+    }
+
+    public void sendUpdateLog(String agentId, String clientId, String attributeName, String beforeValue, String afterValue, String remarks) {
+        send(new AuditEvent(Operation.UPDATE, attributeName, beforeValue, afterValue, agentId, clientId, Instant.now(), remarks));
+    }
+
+    public void sendDeleteLog(String agentId, String clientId, String remarks) {
+        send(new AuditEvent(Operation.DELETE, null, null, null, agentId, clientId, Instant.now(), remarks));
+    }
+
+    private void send(AuditEvent event) {
+        logger.debug("Writing audit log message to the outbox: {} {}", event.operation(), event.clientId());
+        auditOutboxRepository.append(List.of(auditEventEncoder.encode(event)));
     }
 }
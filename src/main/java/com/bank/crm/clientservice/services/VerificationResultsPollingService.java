@@ -1,5 +1,6 @@
 package com.bank.crm.clientservice.services;
 
+import com.bank.crm.clientservice.config.BoundedExecutor;
 import com.bank.crm.clientservice.dto.VerificationResult;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
@@ -7,6 +8,7 @@ import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.services.sqs.SqsClient;
@@ -26,6 +28,12 @@ public class VerificationResultsPollingService {
     private final SqsClient sqsClient;
     private final ObjectMapper objectMapper;
     private final VerificationService verificationService;
+    // Processes one received batch concurrently in virtual-thread mode, one by one otherwise
+    @Qualifier("verificationWorkerExecutor")
+    private final BoundedExecutor verificationWorkerExecutor;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
 
     @Value("${aws.sqs.verification_results_queue_url}")
     private String verificationResultsQueueUrl;
@@ -67,11 +75,7 @@ public class VerificationResultsPollingService {
         lastSuccessfulPollTime = System.currentTimeMillis();
 
         // Start the polling thread
-        executorService = Executors.newSingleThreadExecutor(r -> {
-            Thread thread = new Thread(r, "verification-results-polling");
-            thread.setDaemon(false);
-            return thread;
-        });
+        executorService = newPollingExecutor("verification-results-polling");
         pollingFuture = executorService.submit(this::pollMessages);
 
         // Start health check monitoring
@@ -145,9 +149,10 @@ public class VerificationResultsPollingService {
                     logger.info("Received {} verification result message(s)", messages.size());
                 }
 
-                for (Message message : messages) {
-                    processMessage(message);
-                }
+                // Wait for the whole batch, so no more is received than the workers can take
+                verificationWorkerExecutor.runAll(messages.stream()
+                        .<Runnable>map(message -> () -> processMessage(message))
+                        .toList());
 
             } catch (Exception e) {
                 logger.error("Error polling verification results queue: {}", e.getMessage(), e);
@@ -165,6 +170,17 @@ public class VerificationResultsPollingService {
         logger.info("Polling loop stopped");
     }
 
+    private ExecutorService newPollingExecutor(String threadName) {
+        if (virtualThreads) {
+            return Executors.newSingleThreadExecutor(Thread.ofVirtual().name(threadName).factory());
+        }
+        return Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, threadName);
+            thread.setDaemon(false);
+            return thread;
+        });
+    }
+
     private void processMessage(Message message) {
         try {
             String messageBody = message.body();
@@ -265,11 +281,7 @@ public class VerificationResultsPollingService {
             Thread.sleep(delaySeconds * 1000L);
 
             // Create a new executor and start polling
-            executorService = Executors.newSingleThreadExecutor(r -> {
-                Thread thread = new Thread(r, "verification-results-polling-" + currentRestartCount);
-                thread.setDaemon(false);
-                return thread;
-            });
+            executorService = newPollingExecutor("verification-results-polling-" + currentRestartCount);
 
             lastSuccessfulPollTime = System.currentTimeMillis();
             pollingFuture = executorService.submit(this::pollMessages);
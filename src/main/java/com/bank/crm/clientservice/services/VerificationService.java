@@ -7,6 +7,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import software.amazon.awssdk.services.sqs.SqsClient;
 import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
 import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
@@ -27,10 +29,15 @@ public class VerificationService {
 
     private static final Logger logger = LoggerFactory.getLogger(VerificationService.class);
 
+    // Times a result is re-checked against a profile edited while it was being verified
+    static final int MAX_VERIFICATION_ATTEMPTS = 3;
+
     private final SqsClient sqsClient;
     private final ObjectMapper objectMapper;
     private final ClientProfileRepository clientProfileRepository;
     private final LoggingService loggingService;
+    private final ClientProfileCacheService clientProfileCacheService;
+    private final PlatformTransactionManager transactionManager;
 
     @Value("${aws.sqs.verification_request_queue_url}")
     private String verificationRequestQueueUrl;
@@ -88,47 +95,40 @@ public class VerificationService {
             logger.info("Processing verification result for clientId: {}", clientId);
             logger.info("Extracted Data: {}", result.getExtractedData());
 
-            // Fetch client profile from database
-            ClientProfile clientProfile = clientProfileRepository.findById(clientId)
-                    .orElseThrow(() -> new ClientNotFoundException(clientId));
-
-            // Perform verification checks
-            boolean isVerified = performVerification(clientProfile, result);
-
-            if (isVerified) {
-                // Update client status to ACTIVE
-                clientProfile.setStatus(ClientStatusTypes.ACTIVE);
-                clientProfileRepository.save(clientProfile);
-
-                String remarks = String.format(
-                        "Auto-verification successful for client %s. Status updated to ACTIVE.",
-                        clientId
-                );
-                loggingService.sendUpdateLog(
-                        clientProfile.getAgent_id(),
-                        clientId.toString(),
-                        "Status",
-                        "PENDING",
-                        "ACTIVE",
-                        remarks
-                );
-
-                logger.info("Client {} verification successful. Status updated to ACTIVE", clientId);
-            } else {
-                String remarks = String.format(
-                        "Auto-verification failed for client %s. Manual verification required.",
-                        clientId
-                );
-                loggingService.sendUpdateLog(
-                        clientProfile.getAgent_id(),
-                        clientId.toString(),
-                        "Auto-Verification",
-                        "In Progress",
-                        "Failed",
-                        remarks
-                );
-
-                logger.warn("Client {} verification failed. Manual verification required", clientId);
+            for (int attempt = 1; ; attempt++) {
+                // Fetch client profile from database
+                ClientProfile clientProfile = clientProfileRepository.findById(clientId)
+                        .orElseThrow(() -> new ClientNotFoundException(clientId));
+                if (attempt > 1 && clientProfile.getStatus() != ClientStatusTypes.PENDING) {
+                    logger.warn("Client {} is no longer PENDING, verification result ignored", clientId);
+                    return;
+                }
+
+                // Perform verification checks
+                boolean isVerified = performVerification(clientProfile, result);
+                if (!isVerified) {
+                    sendVerificationFailedLog(clientProfile);
+                    return;
+                }
+
+                // Activate only the version that was checked: a name or date of birth edited
+                // meanwhile has to pass the check again before the client goes ACTIVE
+                Boolean activated = new TransactionTemplate(transactionManager).execute(status -> {
+                    int updated = clientProfileRepository.transitionStatusAtVersion(clientId, clientProfile.getVersion(),
+                            EnumSet.of(ClientStatusTypes.PENDING), ClientStatusTypes.ACTIVE);
+                    if (updated == 1) {
+                        sendVerifiedLog(clientProfile);
+                    }
+                    return updated == 1;
+                });
+                if (Boolean.TRUE.equals(activated)) {
+                    return;
+                }
+                if (attempt == MAX_VERIFICATION_ATTEMPTS) {
+                    logger.warn("Client {} kept changing while being verified, left PENDING after {} attempts",
+                            clientId, attempt);
+                    return;
+                }
             }
 
         } catch (ClientNotFoundException e) {
@@ -139,6 +139,36 @@ public class VerificationService {
         }
     }
 
+    private void sendVerifiedLog(ClientProfile clientProfile) {
+        UUID clientId = clientProfile.getClientId();
+        clientProfileCacheService.evict(clientId);
+
+        loggingService.sendUpdateLog(
+                clientProfile.getAgent_id(),
+                clientId.toString(),
+                "Status",
+                "PENDING",
+                "ACTIVE",
+                "Auto-verification successful for client " + clientId + ". Status updated to ACTIVE."
+        );
+
+        logger.info("Client {} verification successful. Status updated to ACTIVE", clientId);
+    }
+
+    private void sendVerificationFailedLog(ClientProfile clientProfile) {
+        UUID clientId = clientProfile.getClientId();
+        loggingService.sendUpdateLog(
+                clientProfile.getAgent_id(),
+                clientId.toString(),
+                "Auto-Verification",
+                "In Progress",
+                "Failed",
+                "Auto-verification failed for client " + clientId + ". Manual verification required."
+        );
+
+        logger.warn("Client {} verification failed. Manual verification required", clientId);
+    }
+
     /**
      * Perform verification checks against client profile
      */
@@ -0,0 +1,10 @@
+-- The application stores GenderTypes names; older databases carry the spaced/hyphenated labels
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_enum WHERE enumtypid = 'gender_types'::regtype AND enumlabel = 'NON-BINARY') THEN
+        ALTER TYPE gender_types RENAME VALUE 'NON-BINARY' TO 'NON_BINARY';
+    END IF;
+    IF EXISTS (SELECT 1 FROM pg_enum WHERE enumtypid = 'gender_types'::regtype AND enumlabel = 'PREFER NOT TO SAY') THEN
+        ALTER TYPE gender_types RENAME VALUE 'PREFER NOT TO SAY' TO 'PREFER_NOT_TO_SAY';
+    END IF;
+END $$;
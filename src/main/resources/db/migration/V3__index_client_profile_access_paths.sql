@@ -0,0 +1,18 @@
+-- Built CONCURRENTLY so writes keep flowing on a populated table; see the .conf next to this file
+
+-- Case-insensitive email uniqueness, for databases initialised before the constraint was declared
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_client_profile_email_address
+    ON client_profile (email_address);
+
+-- Agent portfolio reads only ever ask for non-INACTIVE clients
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_client_profile_agent_active
+    ON client_profile (agent_id, client_id)
+    WHERE status <> 'INACTIVE';
+
+-- Clients awaiting verification
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_client_profile_pending
+    ON client_profile (client_id)
+    WHERE status = 'PENDING';
+
+-- Superseded by idx_client_profile_agent_active
+DROP INDEX CONCURRENTLY IF EXISTS idx_client_profile_agent_id_status;
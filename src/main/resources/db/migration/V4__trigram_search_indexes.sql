@@ -0,0 +1,16 @@
+-- Trigram indexes behind GET /client-profile/search. Built CONCURRENTLY, see the .conf next to this file.
+-- Each indexed expression must match ClientProfileRepository's search queries exactly.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_client_profile_name_trgm
+    ON client_profile USING gin ((first_name || ' ' || last_name) gin_trgm_ops)
+    WHERE status <> 'INACTIVE';
+
+-- citext brings its own ILIKE operator, so the text cast is indexed instead of the column
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_client_profile_email_trgm
+    ON client_profile USING gin ((email_address::text) gin_trgm_ops)
+    WHERE status <> 'INACTIVE';
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_client_profile_city_trgm
+    ON client_profile USING gin (city gin_trgm_ops)
+    WHERE status <> 'INACTIVE';
@@ -0,0 +1,5 @@
+-- Row version for optimistic locking and ETags, and the time of the last change for Last-Modified.
+-- Both defaults are constant for the statement, so Postgres adds the columns without a table rewrite.
+ALTER TABLE client_profile
+    ADD COLUMN version bigint NOT NULL DEFAULT 0,
+    ADD COLUMN updated_at timestamptz NOT NULL DEFAULT now();
@@ -0,0 +1,8 @@
+-- Audit messages written in the same transaction as the change they describe, and removed once
+-- the relay has delivered them to the logging queue. Rows are taken oldest first with
+-- FOR UPDATE SKIP LOCKED, so the primary key is the only index the relay needs.
+CREATE TABLE audit_outbox (
+    id bigint GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    payload text NOT NULL,
+    created_at timestamptz NOT NULL DEFAULT now()
+);
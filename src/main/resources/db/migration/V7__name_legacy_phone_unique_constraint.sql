@@ -0,0 +1,11 @@
+-- Databases created from the original init.sql declared phone uniqueness inline, which Postgres
+-- named client_profile_phone_number_key. Give it the name the service maps back to phoneNumber.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_constraint
+               WHERE conrelid = 'client_profile'::regclass
+                 AND conname = 'client_profile_phone_number_key') THEN
+        ALTER TABLE client_profile
+            RENAME CONSTRAINT client_profile_phone_number_key TO uk_client_profile_phone_number;
+    END IF;
+END $$;
@@ -0,0 +1,4 @@
+-- The relay claims entries by setting a lease and commits before sending them, so no row lock or
+-- connection is held during SQS calls. An entry whose lease has run out, e.g. because its relay
+-- died mid-send, is claimed again.
+ALTER TABLE audit_outbox ADD COLUMN leased_until timestamptz;
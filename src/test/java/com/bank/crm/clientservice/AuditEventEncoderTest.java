@@ -0,0 +1,101 @@
+package com.bank.crm.clientservice;
+
+import com.bank.crm.clientservice.dto.AuditEvent;
+import com.bank.crm.clientservice.dto.AuditEvent.Operation;
+import com.bank.crm.clientservice.services.AuditEventEncoder;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditEventEncoderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AuditEventEncoder encoder = new AuditEventEncoder(objectMapper);
+
+    @Test
+    void shouldEncodeSameMessageAsMapBasedEncoding() throws Exception {
+        Instant occurredAt = Instant.parse("2026-03-01T08:15:30.123456Z");
+        AuditEvent event = new AuditEvent(Operation.UPDATE, "City", "Johor Bahru", "Penang \"Island\"",
+                "agent-1", "client-1", occurredAt, "Updated fields: City");
+
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("crud_operation", "Update");
+        expected.put("attribute_name", "City");
+        expected.put("before_value", "Johor Bahru");
+        expected.put("after_value", "Penang \"Island\"");
+        expected.put("agent_id", "agent-1");
+        expected.put("client_id", "client-1");
+        expected.put("date_time", LocalDateTime.ofInstant(occurredAt, ZoneId.systemDefault())
+                .format(DateTimeFormatter.ISO_DATE_TIME));
+        expected.put("remarks", "Updated fields: City");
+
+        Map<String, Object> message = objectMapper.readValue(encoder.encode(event), new TypeReference<>() {});
+        // The one field the map-based encoding did not have
+        assertDoesNotThrow(() -> UUID.fromString((String) message.remove("event_id")));
+        assertEquals(expected, message);
+    }
+
+    @Test
+    void shouldGiveEachMessageItsOwnEventId() throws Exception {
+        AuditEvent event = new AuditEvent(Operation.READ, null, null, null, "a", "c", Instant.now(), "r");
+
+        Map<String, Object> first = objectMapper.readValue(encoder.encode(event), new TypeReference<>() {});
+        Map<String, Object> second = objectMapper.readValue(encoder.encode(event), new TypeReference<>() {});
+
+        assertNotNull(first.get("event_id"));
+        assertNotEquals(first.get("event_id"), second.get("event_id"));
+    }
+
+    @Test
+    void shouldWriteEmptyValuesForCreateReadAndDelete() throws Exception {
+        AuditEvent event = new AuditEvent(Operation.DELETE, null, null, null,
+                "agent-1", "client-1", Instant.now(), "deleted");
+
+        Map<String, Object> message = objectMapper.readValue(encoder.encode(event), new TypeReference<>() {});
+
+        assertEquals("Delete", message.get("crud_operation"));
+        assertEquals("", message.get("attribute_name"));
+        assertEquals("", message.get("before_value"));
+        assertEquals("", message.get("after_value"));
+    }
+
+    @Test
+    void shouldFormatDateTimeLikeIsoDateTime() throws Exception {
+        // Whole second, millis, micros, nanos, and a fraction with inner zeros, across a second boundary
+        for (String instant : new String[]{"2026-03-01T08:15:30Z", "2026-03-01T08:15:30.120Z",
+                "2026-03-01T08:15:30.000450Z", "2026-03-01T08:15:30.000000007Z", "2026-03-01T08:15:31.102030405Z"}) {
+            Instant occurredAt = Instant.parse(instant);
+            AuditEvent event = new AuditEvent(Operation.READ, null, null, null, "a", "c", occurredAt, "r");
+
+            Map<String, Object> message = objectMapper.readValue(encoder.encode(event), new TypeReference<>() {});
+
+            assertEquals(LocalDateTime.ofInstant(occurredAt, ZoneId.systemDefault()).format(DateTimeFormatter.ISO_DATE_TIME),
+                    message.get("date_time"), instant);
+        }
+    }
+
+    @Test
+    void shouldAddChunkFieldsOnlyToSplitMessages() throws Exception {
+        AuditEvent event = new AuditEvent(Operation.READ, null, null, null, "a", "[c1, c2]", Instant.now(), "r");
+
+        Map<String, Object> whole = objectMapper.readValue(encoder.encode(event), new TypeReference<>() {});
+        Map<String, Object> part = objectMapper.readValue(
+                encoder.encode(event, new AuditEvent.Chunk("corr-1", 2, 3)), new TypeReference<>() {});
+
+        assertFalse(whole.containsKey("correlation_id"));
+        assertEquals("corr-1", part.get("correlation_id"));
+        assertEquals(2, part.get("sequence"));
+        assertEquals(3, part.get("total"));
+        assertEquals("[c1, c2]", part.get("client_id"));
+    }
+}
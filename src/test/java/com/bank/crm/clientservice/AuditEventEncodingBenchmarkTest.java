@@ -0,0 +1,96 @@
+package com.bank.crm.clientservice;
+
+import com.bank.crm.clientservice.dto.AuditEvent;
+import com.bank.crm.clientservice.dto.AuditEvent.Operation;
+import com.bank.crm.clientservice.services.AuditEventEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+/**
+ * Cost per audit message of the map-based encoding (HashMap, String.format remarks, formatted
+ * LocalDateTime, ObjectMapper) against the typed event through AuditEventEncoder.
+ * Run with: mvn test -Dbenchmark=true -Dtest=AuditEventEncodingBenchmarkTest
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class AuditEventEncodingBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditEventEncodingBenchmarkTest.class);
+
+    private static final int WARMUP = 200_000;
+    private static final int EVENTS = 1_000_000;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final AuditEventEncoder encoder = new AuditEventEncoder(objectMapper);
+    private final String[] clientIds = new String[1_024];
+
+    @Test
+    void mapBasedVersusTypedEncoding() throws Exception {
+        for (int i = 0; i < clientIds.length; i++) {
+            clientIds[i] = UUID.randomUUID().toString();
+        }
+
+        measure("map", this::encodeAsMap);
+        measure("typed", this::encodeTyped);
+    }
+
+    private String encodeAsMap(int i) {
+        String clientId = clientIds[i & (clientIds.length - 1)];
+        String remarks = String.format("Client status updated to %s by agent %s.", "ACTIVE", "agent-7");
+        Map<String, Object> messageBody = new HashMap<>();
+        messageBody.put("crud_operation", "Update");
+        messageBody.put("attribute_name", "Status");
+        messageBody.put("before_value", "PENDING");
+        messageBody.put("after_value", "ACTIVE");
+        messageBody.put("agent_id", "agent-7");
+        messageBody.put("client_id", clientId);
+        messageBody.put("date_time", LocalDateTime.now().format(DateTimeFormatter.ISO_DATE_TIME));
+        messageBody.put("remarks", remarks);
+        try {
+            return objectMapper.writeValueAsString(messageBody);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String encodeTyped(int i) {
+        String clientId = clientIds[i & (clientIds.length - 1)];
+        String status = "ACTIVE";
+        String agentId = "agent-7";
+        return encoder.encode(new AuditEvent(Operation.UPDATE, "Status", "PENDING", status, agentId, clientId,
+                Instant.now(), "Client status updated to " + status + " by agent " + agentId + "."));
+    }
+
+    private void measure(String label, IntFunction<String> encode) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        long checksum = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            checksum += encode.apply(i).length();
+        }
+
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < EVENTS; i++) {
+            checksum += encode.apply(i).length();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        logger.info("{}: {} ns/event, {} bytes allocated/event (checksum {})",
+                label, elapsed / EVENTS, allocated / EVENTS, checksum);
+    }
+}
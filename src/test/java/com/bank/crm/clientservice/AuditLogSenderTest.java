@@ -0,0 +1,190 @@
+package com.bank.crm.clientservice;
+
+import com.bank.crm.clientservice.services.AuditLogSender;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AuditLogSenderTest {
+
+    private static final String QUEUE_URL = "http://localhost:4566/000000000000/test-queue";
+
+    private SqsClient sqsClient;
+    private AuditLogSender sender;
+
+    @BeforeEach
+    void setUp() {
+        sqsClient = mock(SqsClient.class);
+        when(sqsClient.sendMessageBatch(any(SendMessageBatchRequest.class))).thenAnswer(invocation -> accepted(invocation.getArgument(0)));
+        sender = new AuditLogSender(sqsClient, QUEUE_URL, 3, 1, Integer.MAX_VALUE);
+    }
+
+    @Test
+    void shouldSendInOrderInBatchesOfAtMostTen() {
+        List<String> messages = IntStream.range(0, 25).mapToObj(i -> "{\"n\":" + i + "}").toList();
+
+        Set<Integer> undelivered = sender.sendAll(messages);
+
+        List<SendMessageBatchRequest> requests = capturedRequests();
+        assertTrue(undelivered.isEmpty());
+        assertEquals(List.of(10, 10, 5), requests.stream().map(request -> request.entries().size()).toList());
+        assertEquals(messages, requests.stream().flatMap(request -> bodies(request).stream()).toList());
+        assertTrue(requests.stream().allMatch(request -> QUEUE_URL.equals(request.queueUrl())));
+    }
+
+    @Test
+    void shouldStartNewBatchBeforeExceedingSqsPayloadLimit() {
+        String large = "x".repeat(200 * 1024);
+
+        sender.sendAll(List.of(large, large, "small"));
+
+        assertEquals(List.of(1, 2), capturedRequests().stream().map(request -> request.entries().size()).toList());
+    }
+
+    @Test
+    void shouldCompressBodiesAboveThreshold() throws Exception {
+        AuditLogSender compressing = new AuditLogSender(sqsClient, QUEUE_URL, 3, 1, 1024);
+        String large = "{\"client_id\":\"" + "[3f2c8a9e-0000-4000-8000-000000000000, ".repeat(1_000) + "\"}";
+
+        compressing.sendAll(List.of("small", large));
+
+        List<String> sent = bodies(capturedRequests().get(0));
+        assertEquals("small", sent.get(0));
+        JsonNode envelope = new ObjectMapper().readTree(sent.get(1));
+        assertEquals("gzip+base64", envelope.get("content_encoding").asText());
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(
+                Base64.getDecoder().decode(envelope.get("payload").asText())))) {
+            assertEquals(large, new String(gzip.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertTrue(sent.get(1).length() < large.length() / 10);
+    }
+
+    @Test
+    void shouldDropBodyThatCannotFitEvenCompressed() {
+        AuditLogSender compressing = new AuditLogSender(sqsClient, QUEUE_URL, 3, 1, 1024);
+        // Random bytes do not compress
+        byte[] noise = new byte[300 * 1024];
+        new Random(42).nextBytes(noise);
+        String oversized = Base64.getEncoder().encodeToString(noise);
+
+        Set<Integer> undelivered = compressing.sendAll(List.of("a", oversized, "b"));
+
+        assertTrue(undelivered.isEmpty());
+        List<SendMessageBatchRequest> requests = capturedRequests();
+        assertEquals(1, requests.size());
+        assertEquals(List.of("a", "b"), bodies(requests.get(0)));
+    }
+
+    @Test
+    void shouldResendOnlyEntriesSqsFailedToAccept() {
+        doReturn(SendMessageBatchResponse.builder()
+                .successful(SendMessageBatchResultEntry.builder().id("0").messageId("m-0").build())
+                .failed(BatchResultErrorEntry.builder().id("1").code("InternalError").senderFault(false).build(),
+                        BatchResultErrorEntry.builder().id("2").code("InvalidMessageContents").senderFault(true).build())
+                .build())
+                .doAnswer(invocation -> accepted(invocation.getArgument(0)))
+                .when(sqsClient).sendMessageBatch(any(SendMessageBatchRequest.class));
+
+        Set<Integer> undelivered = sender.sendAll(List.of("a", "b", "c"));
+
+        List<SendMessageBatchRequest> requests = capturedRequests();
+        assertEquals(2, requests.size());
+        assertEquals(List.of("a", "b", "c"), bodies(requests.get(0)));
+        // Sender-fault entries are not retried
+        assertEquals(List.of("b"), bodies(requests.get(1)));
+        assertTrue(undelivered.isEmpty());
+    }
+
+    @Test
+    void shouldRetryBatchWhenSqsCallThrows() {
+        doThrow(new RuntimeException("SQS unavailable"))
+                .doAnswer(invocation -> accepted(invocation.getArgument(0)))
+                .when(sqsClient).sendMessageBatch(any(SendMessageBatchRequest.class));
+
+        Set<Integer> undelivered = sender.sendAll(List.of("a"));
+
+        assertTrue(undelivered.isEmpty());
+        verify(sqsClient, times(2)).sendMessageBatch(any(SendMessageBatchRequest.class));
+    }
+
+    @Test
+    void shouldReportWhatIsStillUndeliveredAfterLastAttempt() {
+        doThrow(new RuntimeException("SQS unavailable"))
+                .when(sqsClient).sendMessageBatch(any(SendMessageBatchRequest.class));
+        List<String> messages = IntStream.range(0, 12).mapToObj(i -> "m" + i).toList();
+
+        Set<Integer> undelivered = sender.sendAll(messages);
+
+        assertEquals(IntStream.range(0, 12).boxed().collect(Collectors.toSet()), undelivered);
+        // Three attempts for the first batch; the second is not tried once the first is stuck
+        verify(sqsClient, times(3)).sendMessageBatch(any(SendMessageBatchRequest.class));
+    }
+
+    @Test
+    void shouldNotSendPastBatchThatCouldNotBeDelivered() {
+        doReturn(accepted(10))
+                .doReturn(SendMessageBatchResponse.builder()
+                        .successful(IntStream.range(10, 20).filter(i -> i != 11)
+                                .mapToObj(i -> SendMessageBatchResultEntry.builder().id(Integer.toString(i)).messageId("m-" + i).build())
+                                .toList())
+                        .failed(BatchResultErrorEntry.builder().id("11").code("InternalError").senderFault(false).build())
+                        .build())
+                .doThrow(new RuntimeException("SQS unavailable"))
+                .when(sqsClient).sendMessageBatch(any(SendMessageBatchRequest.class));
+        List<String> messages = IntStream.range(0, 25).mapToObj(i -> "m" + i).toList();
+
+        Set<Integer> undelivered = sender.sendAll(messages);
+
+        // The failed entry and everything after its batch, so nothing later overtakes it
+        assertEquals(IntStream.concat(IntStream.of(11), IntStream.range(20, 25)).boxed().collect(Collectors.toSet()), undelivered);
+        assertEquals(4, capturedRequests().size());
+    }
+
+    private List<SendMessageBatchRequest> capturedRequests() {
+        ArgumentCaptor<SendMessageBatchRequest> captor = ArgumentCaptor.forClass(SendMessageBatchRequest.class);
+        verify(sqsClient, atLeastOnce()).sendMessageBatch(captor.capture());
+        return captor.getAllValues();
+    }
+
+    private static List<String> bodies(SendMessageBatchRequest request) {
+        return request.entries().stream().map(SendMessageBatchRequestEntry::messageBody).toList();
+    }
+
+    private static SendMessageBatchResponse accepted(int entries) {
+        return SendMessageBatchResponse.builder()
+                .successful(IntStream.range(0, entries)
+                        .mapToObj(i -> SendMessageBatchResultEntry.builder().id(Integer.toString(i)).messageId("m-" + i).build())
+                        .toList())
+                .build();
+    }
+
+    private static SendMessageBatchResponse accepted(SendMessageBatchRequest request) {
+        return SendMessageBatchResponse.builder()
+                .successful(request.entries().stream()
+                        .map(entry -> SendMessageBatchResultEntry.builder().id(entry.id()).messageId("m-" + entry.id()).build())
+                        .toList())
+                .build();
+    }
+}
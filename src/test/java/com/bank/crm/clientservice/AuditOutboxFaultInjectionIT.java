@@ -0,0 +1,122 @@
+package com.bank.crm.clientservice;
+
+import com.bank.crm.clientservice.dto.ClientProfileCreateRequest;
+import com.bank.crm.clientservice.repositories.AuditOutboxRepository;
+import com.bank.crm.clientservice.services.AuditLogSender;
+import com.bank.crm.clientservice.services.AuditOutboxRelay;
+import com.bank.crm.clientservice.services.ClientProfileService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The relay against an SQS that is slow, down, or failing single entries. Requests must not wait on
+ * SQS, and once it recovers every audit record must reach it, in order for a single relay.
+ */
+@Testcontainers
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = {
+        "spring.profiles.active=test",
+        "aws.sqs.logging-queue-url=http://localhost:4566/000000000000/test-queue",
+        "aws.sqs.verification_request_queue_url=http://localhost:4566/000000000000/test-verification-request-queue",
+        "aws.sqs.verification_results_queue_url=http://localhost:4566/000000000000/test-verification-results-queue",
+        "verification.polling.enabled=false",
+        "grpc.server.port=0",
+        "audit.outbox.relay.enabled=false"
+})
+class AuditOutboxFaultInjectionIT {
+
+    private static final String QUEUE_URL = "http://localhost:4566/000000000000/test-queue";
+    private static final long SQS_LATENCY_MS = 1_000;
+
+    @Autowired
+    private ClientProfileService clientProfileService;
+
+    @Autowired
+    private AuditOutboxRepository auditOutboxRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private FaultInjectingSqsClient sqs;
+    private AuditOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM audit_outbox");
+        sqs = new FaultInjectingSqsClient();
+        // Not started: rounds are run by the tests
+        relay = new AuditOutboxRelay(auditOutboxRepository, new AuditLogSender(sqs, QUEUE_URL, 2, 1, 64 * 1024),
+                false, 100, 1, 1_000, 60_000, false);
+    }
+
+    @Test
+    void requestsDoNotWaitOnSqsAndNothingIsLostWhileItIsDown() {
+        sqs.setLatencyMs(SQS_LATENCY_MS);
+        sqs.setUnavailable(true);
+
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            clientProfileService.createClientProfile(uniqueCreateRequest(), "fault-agent");
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            assertTrue(elapsedMs < SQS_LATENCY_MS, "create took " + elapsedMs + " ms");
+        }
+        List<String> recorded = outboxPayloads();
+        assertEquals(3, recorded.size());
+
+        assertEquals(0, relay.relayBatch());
+        assertEquals(recorded, outboxPayloads());
+
+        sqs.setLatencyMs(0);
+        sqs.setUnavailable(false);
+        assertEquals(3, relay.relayBatch());
+
+        assertEquals(recorded, sqs.delivered());
+        assertEquals(0, auditOutboxRepository.count());
+    }
+
+    @Test
+    void entryThatKeepsFailingIsNotOvertakenByLaterBatches() {
+        List<String> messages = IntStream.range(0, 25).mapToObj(i -> "{\"n\":" + i + "}").toList();
+        auditOutboxRepository.append(messages);
+        sqs.failEntries(body -> body.equals("{\"n\":12}"));
+
+        // Batch 0-9 goes through; 12 fails in batch 10-19, so batch 20-24 is held back
+        assertEquals(19, relay.relayBatch());
+        List<String> held = new ArrayList<>(List.of("{\"n\":12}"));
+        held.addAll(messages.subList(20, 25));
+        assertEquals(held, outboxPayloads());
+
+        sqs.failEntries(body -> false);
+        assertEquals(6, relay.relayBatch());
+
+        List<String> expected = new ArrayList<>(messages.subList(0, 12));
+        expected.addAll(messages.subList(13, 20));
+        expected.addAll(held);
+        assertEquals(expected, sqs.delivered());
+        assertEquals(0, auditOutboxRepository.count());
+    }
+
+    private List<String> outboxPayloads() {
+        return jdbcTemplate.queryForList("SELECT payload FROM audit_outbox ORDER BY id", String.class);
+    }
+
+    private static ClientProfileCreateRequest uniqueCreateRequest() {
+        long n = ThreadLocalRandom.current().nextLong(1_000_000_000L, 10_000_000_000L);
+        ClientProfileCreateRequest request = TestDataFactory.validClientProfileCreateRequest();
+        request.setEmailAddress("fault" + n + "@example.com");
+        request.setPhoneNumber("+65" + n);
+        return request;
+    }
+}
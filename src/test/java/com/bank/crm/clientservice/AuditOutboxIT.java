@@ -0,0 +1,166 @@
+package com.bank.crm.clientservice;
+
+import com.bank.crm.clientservice.dto.ClientProfileCreateRequest;
+import com.bank.crm.clientservice.dto.ClientProfileResponse;
+import com.bank.crm.clientservice.exceptions.NonUniqueFieldException;
+import com.bank.crm.clientservice.repositories.AuditOutboxRepository;
+import com.bank.crm.clientservice.services.AuditOutboxRelay;
+import com.bank.crm.clientservice.services.ClientProfileService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Not @Transactional: the outbox is only visible to the relay once the writing transaction commits.
+ * The relay thread is off, and rounds are run by the tests.
+ */
+@Testcontainers
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = {
+        "spring.profiles.active=test",
+        "aws.sqs.logging-queue-url=http://localhost:4566/000000000000/test-queue",
+        "aws.sqs.verification_request_queue_url=http://localhost:4566/000000000000/test-verification-request-queue",
+        "aws.sqs.verification_results_queue_url=http://localhost:4566/000000000000/test-verification-results-queue",
+        "verification.polling.enabled=false",
+        "grpc.server.port=0",
+        "audit.outbox.relay.enabled=false",
+        "audit.sender.retry-backoff-ms=1"
+})
+class AuditOutboxIT {
+
+    @Autowired
+    private ClientProfileService clientProfileService;
+
+    @Autowired
+    private AuditOutboxRepository auditOutboxRepository;
+
+    @Autowired
+    private AuditOutboxRelay auditOutboxRelay;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SqsClient sqsClient;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM audit_outbox");
+        clearInvocations(sqsClient);
+        doAnswer(invocation -> {
+            SendMessageBatchRequest request = invocation.getArgument(0);
+            return SendMessageBatchResponse.builder()
+                    .successful(request.entries().stream()
+                            .map(entry -> SendMessageBatchResultEntry.builder().id(entry.id()).messageId("m").build())
+                            .toList())
+                    .build();
+        }).when(sqsClient).sendMessageBatch(any(SendMessageBatchRequest.class));
+    }
+
+    @Test
+    void createWritesAuditRecordThatRelayDeliversAndRemoves() {
+        ClientProfileResponse created = clientProfileService.createClientProfile(uniqueCreateRequest(), "outbox-agent");
+
+        List<AuditOutboxRepository.Entry> pending = jdbcTemplate.query("SELECT id, payload FROM audit_outbox",
+                (rows, rowNum) -> new AuditOutboxRepository.Entry(rows.getLong("id"), rows.getString("payload")));
+        assertEquals(1, pending.size());
+        assertTrue(pending.get(0).payload().contains(created.getClientId().toString()));
+        assertTrue(pending.get(0).payload().contains("\"crud_operation\":\"Create\""));
+        verify(sqsClient, never()).sendMessageBatch(any(SendMessageBatchRequest.class));
+
+        assertEquals(1, auditOutboxRelay.relayBatch());
+
+        ArgumentCaptor<SendMessageBatchRequest> captor = ArgumentCaptor.forClass(SendMessageBatchRequest.class);
+        verify(sqsClient).sendMessageBatch(captor.capture());
+        assertEquals(List.of(pending.get(0).payload()),
+                captor.getValue().entries().stream().map(SendMessageBatchRequestEntry::messageBody).toList());
+        assertEquals(0, auditOutboxRepository.count());
+    }
+
+    @Test
+    void rejectedWriteLeavesNoAuditRecord() {
+        ClientProfileCreateRequest request = uniqueCreateRequest();
+        clientProfileService.createClientProfile(request, "outbox-agent");
+        jdbcTemplate.update("DELETE FROM audit_outbox");
+
+        ClientProfileCreateRequest duplicate = uniqueCreateRequest();
+        duplicate.setEmailAddress(request.getEmailAddress());
+        assertThrows(NonUniqueFieldException.class, () -> clientProfileService.createClientProfile(duplicate, "outbox-agent"));
+
+        assertEquals(0, auditOutboxRepository.count());
+    }
+
+    @Test
+    void undeliveredEntriesStayForNextRound() {
+        auditOutboxRepository.append(List.of("{\"n\":1}", "{\"n\":2}"));
+        doThrow(new RuntimeException("SQS unavailable"))
+                .when(sqsClient).sendMessageBatch(any(SendMessageBatchRequest.class));
+
+        assertEquals(0, auditOutboxRelay.relayBatch());
+
+        assertEquals(2, auditOutboxRepository.count());
+    }
+
+    @Test
+    void relaysSkipEachOthersLeasedEntries() {
+        auditOutboxRepository.append(List.of("{\"n\":1}", "{\"n\":2}", "{\"n\":3}"));
+
+        List<String> first = payloads(auditOutboxRepository.claimNext(2, 60_000));
+        List<String> second = payloads(auditOutboxRepository.claimNext(10, 60_000));
+
+        assertEquals(List.of("{\"n\":1}", "{\"n\":2}"), first);
+        assertEquals(List.of("{\"n\":3}"), second);
+        assertEquals(0, auditOutboxRelay.relayBatch());
+    }
+
+    @Test
+    void entriesOfRelayThatDiedMidSendAreSentAgainOnceLeaseExpires() throws InterruptedException {
+        auditOutboxRepository.append(List.of("{\"n\":1}"));
+        // Claimed, then never deleted or released
+        auditOutboxRepository.claimNext(10, 1);
+        Thread.sleep(10);
+
+        assertEquals(1, auditOutboxRelay.relayBatch());
+        assertEquals(0, auditOutboxRepository.count());
+    }
+
+    @Test
+    void undeliveredEntriesAreReleasedForNextRound() {
+        auditOutboxRepository.append(List.of("{\"n\":1}"));
+        doThrow(new RuntimeException("SQS unavailable"))
+                .when(sqsClient).sendMessageBatch(any(SendMessageBatchRequest.class));
+        assertEquals(0, auditOutboxRelay.relayBatch());
+
+        // Not left to wait out the lease
+        assertEquals(List.of("{\"n\":1}"), payloads(auditOutboxRepository.claimNext(10, 60_000)));
+    }
+
+    private static List<String> payloads(List<AuditOutboxRepository.Entry> entries) {
+        return entries.stream().map(AuditOutboxRepository.Entry::payload).toList();
+    }
+
+    private static ClientProfileCreateRequest uniqueCreateRequest() {
+        long n = ThreadLocalRandom.current().nextLong(1_000_000_000L, 10_000_000_000L);
+        ClientProfileCreateRequest request = TestDataFactory.validClientProfileCreateRequest();
+        request.setEmailAddress("outbox" + n + "@example.com");
+        request.setPhoneNumber("+65" + n);
+        return request;
+    }
+}
@@ -0,0 +1,52 @@
+package com.bank.crm.clientservice;
+
+import com.bank.crm.clientservice.config.BoundedExecutor;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedExecutorTest {
+
+    @Test
+    void shouldNeverRunMoreThanMaxConcurrencyAtOnce() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            tasks.add(() -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+            });
+        }
+
+        try (BoundedExecutor executor = BoundedExecutor.virtualThreads("test-", 4)) {
+            executor.runAll(tasks);
+        }
+
+        assertEquals(0, running.get());
+        assertTrue(peak.get() <= 4, "peak concurrency was " + peak.get());
+        assertTrue(peak.get() > 1, "tasks never overlapped");
+    }
+
+    @Test
+    void shouldRunInlineOnCallerWhenNotOnVirtualThreads() {
+        Thread caller = Thread.currentThread();
+        List<Thread> ranOn = new ArrayList<>();
+
+        try (BoundedExecutor executor = BoundedExecutor.callerRuns()) {
+            executor.execute(() -> ranOn.add(Thread.currentThread()));
+            executor.runAll(List.of(() -> ranOn.add(Thread.currentThread())));
+        }
+
+        assertEquals(List.of(caller, caller), ranOn);
+    }
+}
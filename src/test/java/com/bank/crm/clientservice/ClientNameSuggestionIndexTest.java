@@ -0,0 +1,154 @@
+package com.bank.crm.clientservice;
+
+import com.bank.crm.clientservice.dto.ClientNameEntry;
+import com.bank.crm.clientservice.dto.ClientNameSuggestion;
+import com.bank.crm.clientservice.models.ClientProfile;
+import com.bank.crm.clientservice.repositories.ClientProfileRepository;
+import com.bank.crm.clientservice.services.ClientNameSuggestionIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ClientNameSuggestionIndexTest {
+
+    private ClientProfileRepository mockRepo;
+    private ClientNameSuggestionIndex index;
+
+    @BeforeEach
+    void setUp() {
+        mockRepo = mock(ClientProfileRepository.class);
+        index = new ClientNameSuggestionIndex(mockRepo, mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void shouldMatchFullOrLastNamePrefixWithinAgentOnly() {
+        ClientProfile john = profile("agent-1", "John", "Doe");
+        ClientProfile jane = profile("agent-1", "Jane", "Johnson");
+        ClientProfile other = profile("agent-2", "John", "Smith");
+        index.putAll(List.of(john, jane, other));
+
+        assertEquals(List.of(john.getClientId(), jane.getClientId()), ids(index.suggest("agent-1", "jo", 10)));
+        assertEquals(List.of(john.getClientId()), ids(index.suggest("agent-1", "  JOHN   d", 10)));
+        assertEquals(List.of(john.getClientId()), ids(index.suggest("agent-1", "doe", 10)));
+        assertEquals(List.of(other.getClientId()), ids(index.suggest("agent-2", "jo", 10)));
+        assertTrue(index.suggest("agent-3", "jo", 10).isEmpty());
+        assertTrue(index.suggest("agent-1", " ", 10).isEmpty());
+    }
+
+    @Test
+    void shouldListClientMatchingBothKeysOnceAndApplyLimit() {
+        ClientProfile johnJohnson = profile("agent-1", "John", "Johnson");
+        ClientProfile joe = profile("agent-1", "Joe", "Bloggs");
+        index.putAll(List.of(johnJohnson, joe));
+
+        assertEquals(List.of(joe.getClientId(), johnJohnson.getClientId()), ids(index.suggest("agent-1", "jo", 10)));
+        assertEquals(1, index.suggest("agent-1", "jo", 1).size());
+    }
+
+    @Test
+    void shouldReplaceKeysOnRenameAndDropRemovedClients() {
+        ClientProfile client = profile("agent-1", "John", "Doe");
+        index.put(client);
+
+        client.setLastName("Smith");
+        index.put(client);
+        assertTrue(index.suggest("agent-1", "doe", 10).isEmpty());
+        assertEquals("Smith", index.suggest("agent-1", "smi", 10).get(0).getLastName());
+
+        index.remove(client.getClientId());
+        assertTrue(index.suggest("agent-1", "john", 10).isEmpty());
+    }
+
+    @Test
+    void shouldKeepNameOrderAcrossSeparateWrites() {
+        ClientProfile mark = profile("agent-1", "Mark", "Miller");
+        ClientProfile anna = profile("agent-1", "Anna", "Mills");
+        ClientProfile mike = profile("agent-1", "Mike", "Adams");
+        ClientProfile mia = profile("agent-1", "Mia", "Zane");
+        index.put(mark);
+        index.putAll(List.of(mia, anna));
+        index.put(mike);
+        index.remove(anna.getClientId());
+
+        assertEquals(List.of(mark.getClientId(), mia.getClientId(), mike.getClientId()),
+                ids(index.suggest("agent-1", "m", 10)));
+        assertEquals(List.of(mark.getClientId()), ids(index.suggest("agent-1", "mil", 10)));
+    }
+
+    @Test
+    void shouldKeepWritesMadeWhileLoadIsStreaming() {
+        ClientProfile renamed = profile("agent-1", "Alice", "New");
+        ClientProfile removed = profile("agent-1", "Bob", "Gone");
+        ClientProfile stale = profile("agent-1", "Carol", "Deleted");
+        UUID loadedOnly = UUID.randomUUID();
+        index.put(stale);
+
+        List<ClientNameEntry> rows = List.of(
+                entry(renamed.getClientId(), "agent-1", "Alice", "Old"),
+                entry(removed.getClientId(), "agent-1", "Bob", "Gone"),
+                entry(loadedOnly, "agent-1", "Dave", "Loaded"));
+        when(mockRepo.streamActiveNameEntries()).thenAnswer(invocation -> {
+            // These land after the load's snapshot was taken
+            index.put(renamed);
+            index.remove(removed.getClientId());
+            return rows.stream();
+        });
+
+        index.load();
+
+        assertEquals(List.of(renamed.getClientId()), ids(index.suggest("agent-1", "alice new", 10)));
+        assertTrue(index.suggest("agent-1", "alice old", 10).isEmpty());
+        assertTrue(index.suggest("agent-1", "bob", 10).isEmpty());
+        assertTrue(index.suggest("agent-1", "carol", 10).isEmpty());
+        assertEquals(List.of(loadedOnly), ids(index.suggest("agent-1", "dave", 10)));
+    }
+
+    @Test
+    void shouldRefreshChangedClientsFromDatabase() {
+        ClientProfile renamed = profile("agent-1", "John", "Doe");
+        ClientProfile deactivated = profile("agent-1", "Jane", "Roe");
+        UUID created = UUID.randomUUID();
+        index.putAll(List.of(renamed, deactivated));
+
+        List<ClientNameEntry> rows = List.of(
+                entry(renamed.getClientId(), "agent-1", "Johnny", "Doe"),
+                entry(created, "agent-1", "Jim", "New"));
+        when(mockRepo.findActiveNameEntriesByIds(List.of(renamed.getClientId(), deactivated.getClientId(), created)))
+                .thenReturn(rows);
+
+        index.refresh(List.of(renamed.getClientId(), deactivated.getClientId(), created));
+
+        assertEquals("Johnny", index.suggest("agent-1", "doe", 10).get(0).getFirstName());
+        assertTrue(index.suggest("agent-1", "roe", 10).isEmpty());
+        assertEquals(List.of(created), ids(index.suggest("agent-1", "jim", 10)));
+    }
+
+    private static ClientProfile profile(String agentId, String firstName, String lastName) {
+        ClientProfile profile = TestDataFactory.validClientProfile();
+        profile.setClientId(UUID.randomUUID());
+        profile.setAgent_id(agentId);
+        profile.setFirstName(firstName);
+        profile.setLastName(lastName);
+        return profile;
+    }
+
+    private static ClientNameEntry entry(UUID clientId, String agentId, String firstName, String lastName) {
+        ClientNameEntry entry = mock(ClientNameEntry.class);
+        when(entry.getClientId()).thenReturn(clientId);
+        when(entry.getAgentId()).thenReturn(agentId);
+        when(entry.getFirstName()).thenReturn(firstName);
+        when(entry.getLastName()).thenReturn(lastName);
+        return entry;
+    }
+
+    private static List<UUID> ids(List<ClientNameSuggestion> suggestions) {
+        return suggestions.stream().map(ClientNameSuggestion::getClientId).toList();
+    }
+}
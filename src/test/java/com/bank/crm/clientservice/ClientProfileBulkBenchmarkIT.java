@@ -0,0 +1,83 @@
+package com.bank.crm.clientservice;
+
+import com.bank.crm.clientservice.dto.ClientProfileBulkResult;
+import com.bank.crm.clientservice.dto.ClientProfileCreateRequest;
+import com.bank.crm.clientservice.services.ClientProfileService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Single POST loop versus bulk onboarding of the same number of clients.
+ * Run with: mvn verify -Dbenchmark=true -Dit.test=ClientProfileBulkBenchmarkIT [-Dbenchmark.clients=10000]
+ */
+@Testcontainers
+@Import(TestcontainersConfiguration.class)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = {
+        "spring.profiles.active=test",
+        "spring.jpa.show-sql=false",
+        "aws.sqs.logging-queue-url=http://localhost:4566/000000000000/test-queue",
+        "aws.sqs.verification_request_queue_url=http://localhost:4566/000000000000/test-verification-request-queue",
+        "aws.sqs.verification_results_queue_url=http://localhost:4566/000000000000/test-verification-results-queue",
+        "verification.polling.enabled=false",
+        "grpc.server.port=0"
+})
+class ClientProfileBulkBenchmarkIT {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientProfileBulkBenchmarkIT.class);
+
+    private static final int CLIENTS = Integer.getInteger("benchmark.clients", 10_000);
+
+    @Autowired
+    private ClientProfileService clientProfileService;
+
+    @Test
+    void singleCreatesVersusBulk() {
+        List<ClientProfileCreateRequest> singles = requests("single");
+        long start = System.nanoTime();
+        singles.forEach(request -> clientProfileService.createClientProfile(request, "bench-agent"));
+        double singleSeconds = (System.nanoTime() - start) / 1e9;
+
+        List<ClientProfileCreateRequest> bulk = requests("bulk");
+        start = System.nanoTime();
+        long created = 0;
+        for (int from = 0; from < bulk.size(); from += ClientProfileService.MAX_BULK_SIZE) {
+            List<ClientProfileCreateRequest> chunk =
+                    bulk.subList(from, Math.min(from + ClientProfileService.MAX_BULK_SIZE, bulk.size()));
+            created += clientProfileService.createClientProfiles(chunk, "bench-agent").stream()
+                    .filter(result -> result.getStatus() == ClientProfileBulkResult.Status.CREATED)
+                    .count();
+        }
+        double bulkSeconds = (System.nanoTime() - start) / 1e9;
+
+        logger.info("{} clients: single creates {} rows/s, bulk {} rows/s ({}x)",
+                CLIENTS,
+                Math.round(CLIENTS / singleSeconds),
+                Math.round(CLIENTS / bulkSeconds),
+                Math.round(singleSeconds / bulkSeconds * 10) / 10.0);
+        assertEquals(CLIENTS, created);
+    }
+
+    private static List<ClientProfileCreateRequest> requests(String prefix) {
+        int offset = prefix.equals("bulk") ? 5_000_000 : 0;
+        return IntStream.range(0, CLIENTS)
+                .mapToObj(i -> {
+                    ClientProfileCreateRequest request = TestDataFactory.validClientProfileCreateRequest();
+                    request.setEmailAddress(prefix + i + "@example.com");
+                    request.setPhoneNumber("+65" + String.format("%08d", offset + i));
+                    return request;
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,181 @@
+package com.bank.crm.clientservice;
+
+import com.bank.crm.clientservice.dto.ClientProfileResponse;
+import com.bank.crm.clientservice.services.ClientNameSuggestionIndex;
+import com.bank.crm.clientservice.services.ClientProfileCacheService;
+import com.bank.crm.clientservice.services.ClientProfileChangeListener;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.bank.crm.clientservice.TestDataFactory.validClientProfileResponse;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Not @Transactional: NOTIFY is only delivered once the sending transaction commits.
+ */
+@Testcontainers
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = {
+        "spring.profiles.active=test",
+        "aws.sqs.logging-queue-url=http://localhost:4566/000000000000/test-queue",
+        "aws.sqs.verification_request_queue_url=http://localhost:4566/000000000000/test-verification-request-queue",
+        "aws.sqs.verification_results_queue_url=http://localhost:4566/000000000000/test-verification-results-queue",
+        "verification.polling.enabled=false",
+        "grpc.server.port=0",
+        "client-profile.cache.invalidation.poll-timeout-ms=200"
+})
+class ClientProfileCacheInvalidationIT {
+
+    private static final long TIMEOUT_MS = 10_000;
+
+    @Autowired
+    private ClientProfileCacheService clientProfileCacheService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcConnectionDetails connectionDetails;
+
+    @Test
+    void notificationFromAnotherNode_evictsLocalEntry() throws InterruptedException {
+        ClientProfileResponse response = validClientProfileResponse();
+        UUID clientId = response.getClientId();
+        Cache cache = cacheManager.getCache(ClientProfileCacheService.CACHE_NAME);
+
+        // Wait for the listener to attach; it clears the cache when it does
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        do {
+            clientProfileCacheService.get(clientId, () -> response);
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ?)",
+                    ClientProfileCacheService.CHANGE_CHANNEL, clientId.toString());
+            Thread.sleep(100);
+        } while (cache.get(clientId) != null && System.currentTimeMillis() < deadline);
+
+        assertNull(cache.get(clientId));
+    }
+
+    @Test
+    void evict_publishesChangeNotification() throws Exception {
+        UUID clientId = UUID.randomUUID();
+
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + ClientProfileCacheService.CHANGE_CHANNEL);
+            }
+
+            clientProfileCacheService.evict(clientId);
+
+            PGConnection pgConnection = connection.unwrap(PGConnection.class);
+            List<UUID> changed = new ArrayList<>();
+            long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+            while (!changed.contains(clientId) && System.currentTimeMillis() < deadline) {
+                PGNotification[] notifications = pgConnection.getNotifications(500);
+                if (notifications != null) {
+                    for (PGNotification notification : notifications) {
+                        changed.add(clientProfileCacheService.parseChange(notification.getParameter()).clientId());
+                    }
+                }
+            }
+
+            assertTrue(changed.contains(clientId));
+        }
+    }
+
+    @Test
+    void ownNotificationEvictsButDoesNotRefreshNameIndex() throws InterruptedException {
+        ClientProfileCacheService cacheService = mock(ClientProfileCacheService.class);
+        ClientNameSuggestionIndex index = mock(ClientNameSuggestionIndex.class);
+        UUID own = UUID.randomUUID();
+        UUID remote = UUID.randomUUID();
+        doAnswer(invocation -> clientProfileCacheService.parseChange(invocation.getArgument(0)))
+                .when(cacheService).parseChange(anyString());
+
+        ClientProfileChangeListener listener = new ClientProfileChangeListener(connectionDetails, cacheService, index);
+        ReflectionTestUtils.setField(listener, "invalidationEnabled", true);
+        ReflectionTestUtils.setField(listener, "pollTimeoutMs", 200);
+        listener.startListening();
+        try {
+            // Published by the application context's cache service, so tagged as this node's
+            long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+            while (mockingDetails(cacheService).getInvocations().stream()
+                    .noneMatch(i -> i.getMethod().getName().equals("evictLocally") && own.equals(i.getArgument(0)))
+                    && System.currentTimeMillis() < deadline) {
+                clientProfileCacheService.publishCreated(List.of(own));
+                Thread.sleep(100);
+            }
+            verify(cacheService, atLeastOnce()).evictLocally(own);
+            notifyUntilEvicted(cacheService, remote);
+
+            verify(index, timeout(TIMEOUT_MS)).refresh(Set.of(remote));
+            verify(index, never()).refresh(argThat(ids -> ids.contains(own)));
+        } finally {
+            listener.stopListening();
+        }
+    }
+
+    @Test
+    void listenerSurvivesFailingNotificationAndFailingReload() throws InterruptedException {
+        ClientProfileCacheService cacheService = mock(ClientProfileCacheService.class);
+        ClientNameSuggestionIndex index = mock(ClientNameSuggestionIndex.class);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        doAnswer(invocation -> clientProfileCacheService.parseChange(invocation.getArgument(0)))
+                .when(cacheService).parseChange(anyString());
+        doThrow(new IllegalStateException("injected")).when(cacheService).evictLocally(first);
+        doThrow(new IllegalStateException("injected")).doNothing().when(index).load();
+
+        ClientProfileChangeListener listener = new ClientProfileChangeListener(connectionDetails, cacheService, index);
+        ReflectionTestUtils.setField(listener, "invalidationEnabled", true);
+        ReflectionTestUtils.setField(listener, "pollTimeoutMs", 200);
+        ReflectionTestUtils.setField(listener, "reconnectDelaySeconds", 0);
+        listener.startListening();
+        try {
+            // The failing notification makes it reconnect, where the first reload fails too
+            notifyUntilEvicted(cacheService, first);
+            notifyUntilEvicted(cacheService, second);
+
+            verify(index, atLeast(2)).load();
+            verify(index, timeout(TIMEOUT_MS)).refresh(Set.of(second));
+        } finally {
+            listener.stopListening();
+        }
+    }
+
+    private void notifyUntilEvicted(ClientProfileCacheService cacheService, UUID clientId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (mockingDetails(cacheService).getInvocations().stream()
+                .noneMatch(i -> i.getMethod().getName().equals("evictLocally") && clientId.equals(i.getArgument(0)))
+                && System.currentTimeMillis() < deadline) {
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ?)",
+                    ClientProfileCacheService.CHANGE_CHANNEL, clientId.toString());
+            Thread.sleep(100);
+        }
+        verify(cacheService, atLeastOnce()).evictLocally(clientId);
+    }
+}
@@ -0,0 +1,57 @@
+package com.bank.crm.clientservice;
+
+import com.bank.crm.clientservice.services.ClientProfileCacheService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ClientProfileCacheServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private ClientProfileCacheService cacheService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.execute(anyString(), any(PreparedStatementCallback.class)))
+                .thenThrow(new DataAccessResourceFailureException("notify failed"));
+        cacheService = new ClientProfileCacheService(
+                new ConcurrentMapCacheManager(ClientProfileCacheService.CACHE_NAME), jdbcTemplate, true);
+    }
+
+    @AfterEach
+    void clearTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void shouldFailCallerWhenNotifyFailsInsideTransaction() {
+        // Postgres has aborted the transaction by now, so the write cannot commit anyway
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        assertThrows(DataAccessResourceFailureException.class, () -> cacheService.evict(UUID.randomUUID()));
+    }
+
+    @Test
+    void shouldLogNotifyFailureOutsideTransaction() {
+        assertDoesNotThrow(() -> cacheService.evict(UUID.randomUUID()));
+        assertDoesNotThrow(() -> cacheService.publishCreated(List.of(UUID.randomUUID())));
+    }
+}
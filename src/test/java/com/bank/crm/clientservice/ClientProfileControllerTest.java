@@ -2,12 +2,20 @@ package com.bank.crm.clientservice;
 
 import com.bank.crm.clientservice.controllers.ClientProfileController;
 import com.bank.crm.clientservice.dto.*;
+import com.bank.crm.clientservice.config.BinaryFormatsConfig;
+import com.bank.crm.clientservice.exceptions.BatchSizeExceededException;
 import com.bank.crm.clientservice.exceptions.ClientNotFoundException;
 import com.bank.crm.clientservice.exceptions.ClientNotPendingException;
+import com.bank.crm.clientservice.exceptions.ClientProfileConflictException;
+import com.bank.crm.clientservice.exceptions.ClientProfileVersionMismatchException;
+import com.bank.crm.clientservice.exceptions.ImportJobNotFoundException;
+import com.bank.crm.clientservice.exceptions.ImportTooLargeException;
+import com.bank.crm.clientservice.exceptions.InvalidSearchQueryException;
 import com.bank.crm.clientservice.exceptions.NonUniqueFieldException;
 import com.bank.crm.clientservice.models.enums.GenderTypes;
+import com.bank.crm.clientservice.services.ClientProfileExportService;
+import com.bank.crm.clientservice.services.ClientProfileImportService;
 import com.bank.crm.clientservice.services.ClientProfileService;
-import com.bank.crm.clientservice.models.ClientProfile;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,18 +25,27 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.http.MediaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.springframework.context.annotation.Import;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ClientProfileController.class)
+@Import(BinaryFormatsConfig.class)
 @AutoConfigureMockMvc(addFilters = false)
 class ClientProfileControllerTest {
     @Autowired
@@ -37,6 +54,12 @@ class ClientProfileControllerTest {
     @MockitoBean
     private ClientProfileService clientProfileService;
 
+    @MockitoBean
+    private ClientProfileExportService clientProfileExportService;
+
+    @MockitoBean
+    private ClientProfileImportService clientProfileImportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -96,11 +119,89 @@ class ClientProfileControllerTest {
     }
 
 
+    @Test
+    void shouldReturnPerItemResultsForBulkCreate() throws Exception {
+        List<ClientProfileCreateRequest> requests = List.of(
+                TestDataFactory.validClientProfileCreateRequest(),
+                TestDataFactory.validClientProfileCreateRequest());
+        UUID createdId = UUID.randomUUID();
+
+        Mockito.when(clientProfileService.createClientProfiles(anyList(), eq("agent-1")))
+                .thenReturn(List.of(
+                        new ClientProfileBulkResult(0, ClientProfileBulkResult.Status.CREATED, createdId, List.of()),
+                        new ClientProfileBulkResult(1, ClientProfileBulkResult.Status.DUPLICATE, null,
+                                List.of("emailAddress"))));
+
+        mockMvc.perform(post("/client-profile/bulk")
+                        .header("X-User-Id", "agent-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[0].clientId").value(createdId.toString()))
+                .andExpect(jsonPath("$[1].status").value("DUPLICATE"))
+                .andExpect(jsonPath("$[1].errors[0]").value("emailAddress"));
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenBulkBatchTooLarge() throws Exception {
+        Mockito.when(clientProfileService.createClientProfiles(anyList(), anyString()))
+                .thenThrow(new BatchSizeExceededException(1_001, 1_000));
+
+        mockMvc.perform(post("/client-profile/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Batch of 1001 items exceeds the maximum of 1000"));
+    }
+
+    @Test
+    void shouldAcceptCsvImport() throws Exception {
+        UUID jobId = UUID.randomUUID();
+        Mockito.when(clientProfileImportService.startImport(any(InputStream.class), eq("agent-1")))
+                .thenReturn(ClientProfileImportJob.builder()
+                        .jobId(jobId)
+                        .state(ClientProfileImportJob.State.QUEUED)
+                        .errors(List.of())
+                        .build());
+
+        mockMvc.perform(post("/client-profile/import")
+                        .header("X-User-Id", "agent-1")
+                        .contentType("text/csv")
+                        .content("firstName,lastName\n"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.jobId").value(jobId.toString()))
+                .andExpect(jsonPath("$.state").value("QUEUED"));
+    }
+
+    @Test
+    void shouldRejectOversizedCsvImport() throws Exception {
+        Mockito.when(clientProfileImportService.startImport(any(InputStream.class), anyString()))
+                .thenThrow(new ImportTooLargeException(1024));
+
+        mockMvc.perform(post("/client-profile/import")
+                        .contentType("text/csv")
+                        .content("firstName,lastName\n"))
+                .andExpect(status().isContentTooLarge())
+                .andExpect(content().string("Import file exceeds the maximum of 1024 bytes"));
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownImportJob() throws Exception {
+        UUID jobId = UUID.randomUUID();
+        Mockito.when(clientProfileImportService.getImportJob(jobId))
+                .thenThrow(new ImportJobNotFoundException(jobId));
+
+        mockMvc.perform(get("/client-profile/import/{jobId}", jobId))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("Import job not found with ID: " + jobId));
+    }
+
     @Test
     void shouldReturnOkWhenUpdateSuccessful() throws Exception {
         UUID clientId = UUID.randomUUID();
 
-        when(clientProfileService.updateClientProfile(eq(clientId), any(ClientProfileUpdateRequest.class), anyString()))
+        when(clientProfileService.updateClientProfile(eq(clientId), any(ClientProfileUpdateRequest.class), anyString(), isNull()))
                 .thenReturn(new ClientProfileResponse());
 
         ClientProfileUpdateRequest requestDto = new ClientProfileUpdateRequest();
@@ -116,7 +217,7 @@ class ClientProfileControllerTest {
     void shouldReturnNotFoundWhenClientNotFoundOnUpdate() throws Exception {
         UUID clientId = UUID.randomUUID();
 
-        when(clientProfileService.updateClientProfile(eq(clientId), any(ClientProfileUpdateRequest.class), anyString()))
+        when(clientProfileService.updateClientProfile(eq(clientId), any(ClientProfileUpdateRequest.class), anyString(), isNull()))
                 .thenThrow(new ClientNotFoundException(clientId));
 
         ClientProfileUpdateRequest requestDto = new ClientProfileUpdateRequest();
@@ -146,7 +247,7 @@ class ClientProfileControllerTest {
     void shouldReturnBadRequestWhenServiceThrowsNonUniqueFieldExceptionOnUpdate() throws Exception {
         UUID clientId = UUID.randomUUID();
 
-        when(clientProfileService.updateClientProfile(eq(clientId), any(ClientProfileUpdateRequest.class), anyString()))
+        when(clientProfileService.updateClientProfile(eq(clientId), any(ClientProfileUpdateRequest.class), anyString(), isNull()))
                 .thenThrow(new NonUniqueFieldException(new String[]{"firstName", "email"}));
 
         ClientProfileUpdateRequest requestDto = new ClientProfileUpdateRequest();
@@ -162,7 +263,7 @@ class ClientProfileControllerTest {
     void shouldReturnOkWhenClientProfileFound() throws Exception {
         UUID clientId = UUID.randomUUID();
         when (clientProfileService.getClientProfile(clientId))
-                .thenReturn(new ClientProfile());
+                .thenReturn(new ClientProfileResponse());
         mockMvc.perform(get("/client-profile/" + clientId)
                         .contentType("application/json"))
                 .andExpect(status().isOk());
@@ -178,6 +279,87 @@ class ClientProfileControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void shouldServeETagAndLastModifiedOnFetch() throws Exception {
+        UUID clientId = UUID.randomUUID();
+        ClientProfileResponse response = new ClientProfileResponse();
+        response.setVersion(3L);
+        response.setUpdatedAt(Instant.parse("2025-01-02T03:04:05Z"));
+        when(clientProfileService.getClientProfile(clientId)).thenReturn(response);
+
+        mockMvc.perform(get("/client-profile/" + clientId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(header().string("Last-Modified", "Thu, 02 Jan 2025 03:04:05 GMT"))
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+    @Test
+    void shouldAnswerNotModifiedFromVersionWithoutLoadingProfile() throws Exception {
+        UUID clientId = UUID.randomUUID();
+        when(clientProfileService.getClientProfileVersion(clientId))
+                .thenReturn(new ClientProfileVersion(3L, Instant.parse("2025-01-02T03:04:05Z")));
+
+        mockMvc.perform(get("/client-profile/" + clientId).header("If-None-Match", "W/\"2\", \"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(content().string(""));
+
+        verify(clientProfileService, never()).getClientProfile(any());
+    }
+
+    @Test
+    void shouldPassIfMatchVersionToUpdateAndReturnNewETag() throws Exception {
+        UUID clientId = UUID.randomUUID();
+        ClientProfileResponse response = new ClientProfileResponse();
+        response.setVersion(5L);
+        when(clientProfileService.updateClientProfile(eq(clientId), any(ClientProfileUpdateRequest.class), anyString(), eq(4L)))
+                .thenReturn(response);
+
+        mockMvc.perform(put("/client-profile/" + clientId)
+                        .header("If-Match", "\"4\"")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(new ClientProfileUpdateRequest())))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"5\""));
+    }
+
+    @Test
+    void shouldReturnPreconditionFailedForStaleOrWeakIfMatch() throws Exception {
+        UUID clientId = UUID.randomUUID();
+        when(clientProfileService.updateClientProfile(eq(clientId), any(ClientProfileUpdateRequest.class), anyString(), eq(4L)))
+                .thenThrow(new ClientProfileVersionMismatchException(clientId));
+        String requestBody = objectMapper.writeValueAsString(new ClientProfileUpdateRequest());
+
+        mockMvc.perform(put("/client-profile/" + clientId)
+                        .header("If-Match", "\"4\"")
+                        .contentType("application/json")
+                        .content(requestBody))
+                .andExpect(status().isPreconditionFailed());
+
+        // A weak tag never matches If-Match, so the service is not consulted
+        mockMvc.perform(put("/client-profile/" + clientId)
+                        .header("If-Match", "W/\"4\"")
+                        .contentType("application/json")
+                        .content(requestBody))
+                .andExpect(status().isPreconditionFailed());
+        verify(clientProfileService, times(1))
+                .updateClientProfile(any(), any(), anyString(), any());
+    }
+
+    @Test
+    void shouldReturnConflictWhenConcurrentEditTouchedSameFields() throws Exception {
+        UUID clientId = UUID.randomUUID();
+        when(clientProfileService.updateClientProfile(eq(clientId), any(ClientProfileUpdateRequest.class), anyString(), isNull()))
+                .thenThrow(new ClientProfileConflictException(clientId));
+
+        mockMvc.perform(put("/client-profile/" + clientId)
+                        .header("X-User-Id", "user-1")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(new ClientProfileUpdateRequest())))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     void shouldReturnBadRequestWhenClientIdNotUUIDOnFetch() throws Exception {
         mockMvc.perform(get("/client-profile/sss"))
@@ -274,4 +456,114 @@ class ClientProfileControllerTest {
         mockMvc.perform(delete("/client-profile/sss"))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void shouldReturnPageWithNextCursor() throws Exception {
+        UUID after = UUID.randomUUID();
+        UUID next = UUID.randomUUID();
+        when(clientProfileService.getClientProfilePage(after, 25))
+                .thenReturn(new ClientProfilePage(List.of(new ClientProfileResponse()), next));
+
+        mockMvc.perform(get("/client-profile")
+                        .param("after", after.toString())
+                        .param("limit", "25"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.next").value(next.toString()));
+    }
+
+    @Test
+    void shouldNegotiateBinaryEncodingsAndDefaultToJson() throws Exception {
+        ClientProfileResponse profile = TestDataFactory.validClientProfileResponse();
+        when(clientProfileService.getClientProfilePage(null, 100))
+                .thenReturn(new ClientProfilePage(List.of(profile), null));
+
+        byte[] cbor = mockMvc.perform(get("/client-profile").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] smile = mockMvc.perform(get("/client-profile").accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(List.of(profile), CBORMapper.builder().findAndAddModules().build()
+                .readValue(cbor, ClientProfilePage.class).getItems());
+        assertEquals(List.of(profile), SmileMapper.builder().findAndAddModules().build()
+                .readValue(smile, ClientProfilePage.class).getItems());
+        mockMvc.perform(get("/client-profile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void shouldReturnBadRequestWhenCursorNotUUID() throws Exception {
+        mockMvc.perform(get("/client-profile").param("after", "not-a-uuid"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("After should be of type UUID"));
+    }
+
+    @Test
+    void shouldNameLimitWhenPageSizeNotANumber() throws Exception {
+        mockMvc.perform(get("/client-profile").param("limit", "ten"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Limit should be of type int"));
+    }
+
+    @Test
+    void shouldReturnSearchPage() throws Exception {
+        when(clientProfileService.searchClientProfiles("doe", "0.5:cursor", 10))
+                .thenReturn(new ClientProfileSearchPage(List.of(new ClientProfileResponse()), "0.3:next"));
+
+        mockMvc.perform(get("/client-profile/search")
+                        .param("q", "doe")
+                        .param("after", "0.5:cursor")
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.next").value("0.3:next"));
+    }
+
+    @Test
+    void shouldReturnBadRequestForInvalidSearchQuery() throws Exception {
+        when(clientProfileService.searchClientProfiles("ab", null, 20))
+                .thenThrow(new InvalidSearchQueryException("Search query must be at least 3 characters"));
+
+        mockMvc.perform(get("/client-profile/search").param("q", "ab"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("Search query must be at least 3 characters"));
+    }
+
+    @Test
+    void shouldReturnNameSuggestionsForCallingAgent() throws Exception {
+        UUID clientId = UUID.randomUUID();
+        when(clientProfileService.suggestClientNames("agent-1", "jo", 10))
+                .thenReturn(List.of(new ClientNameSuggestion(clientId, "John", "Doe")));
+
+        mockMvc.perform(get("/client-profile/suggest")
+                        .param("prefix", "jo")
+                        .header("X-User-Id", "agent-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].clientId").value(clientId.toString()))
+                .andExpect(jsonPath("$[0].firstName").value("John"))
+                .andExpect(jsonPath("$[0].lastName").value("Doe"));
+    }
+
+    @Test
+    void shouldStreamExportAsNdjson() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"clientId\":\"a\"}\n{\"clientId\":\"b\"}\n".getBytes());
+            return null;
+        }).when(clientProfileExportService).exportClientProfiles(any());
+
+        var asyncResult = mockMvc.perform(get("/client-profile/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"clientId\":\"a\"}\n{\"clientId\":\"b\"}\n"));
+    }
 }
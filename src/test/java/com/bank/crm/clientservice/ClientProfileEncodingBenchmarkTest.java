@@ -0,0 +1,89 @@
+package com.bank.crm.clientservice;
+
+import com.bank.crm.clientservice.dto.ClientProfileResponse;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Payload size and encode/decode cost of a 10k-profile list in each negotiable response encoding.
+ * Run with: mvn test -Dbenchmark=true -Dtest=ClientProfileEncodingBenchmarkTest
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ClientProfileEncodingBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientProfileEncodingBenchmarkTest.class);
+
+    private static final int PROFILES = 10_000;
+    private static final int ITERATIONS = 50;
+
+    @Test
+    void jsonVersusCborVersusSmile() throws Exception {
+        List<ClientProfileResponse> profiles = IntStream.range(0, PROFILES)
+                .mapToObj(i -> {
+                    ClientProfileResponse profile = TestDataFactory.validClientProfileResponse();
+                    profile.setClientId(UUID.randomUUID());
+                    profile.setEmailAddress("client" + i + "@example.com");
+                    profile.setPhoneNumber("+65" + String.format("%010d", i));
+                    profile.setAgentId("agent-" + (i % 1_000));
+                    return profile;
+                })
+                .toList();
+
+        // Same builder defaults Spring Boot starts from, so the mappers match the served converters
+        measure("json", Jackson2ObjectMapperBuilder.json().build(), profiles);
+        measure("cbor", Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build(), profiles);
+        measure("smile", Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build(), profiles);
+    }
+
+    private void measure(String label, ObjectMapper mapper, List<ClientProfileResponse> profiles) throws Exception {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        JavaType listType = mapper.getTypeFactory().constructCollectionType(List.class, ClientProfileResponse.class);
+
+        byte[] payload = mapper.writeValueAsBytes(profiles); // warm-up
+        assertEquals(profiles, mapper.readValue(payload, listType));
+
+        long[] writeNanos = new long[ITERATIONS];
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            payload = mapper.writeValueAsBytes(profiles);
+            writeNanos[i] = System.nanoTime() - start;
+        }
+        long writeAllocated = (threads.getCurrentThreadAllocatedBytes() - allocatedBefore) / ITERATIONS;
+
+        long[] readNanos = new long[ITERATIONS];
+        allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            mapper.readValue(payload, listType);
+            readNanos[i] = System.nanoTime() - start;
+        }
+        long readAllocated = (threads.getCurrentThreadAllocatedBytes() - allocatedBefore) / ITERATIONS;
+
+        Arrays.sort(writeNanos);
+        Arrays.sort(readNanos);
+        logger.info("{}: payload={} KB, serialize p50={} ms ({} KB allocated), deserialize p50={} ms ({} KB allocated)",
+                label,
+                payload.length / 1024,
+                writeNanos[ITERATIONS / 2] / 1_000_000.0,
+                writeAllocated / 1024,
+                readNanos[ITERATIONS / 2] / 1_000_000.0,
+                readAllocated / 1024);
+    }
+}
@@ -0,0 +1,67 @@
+package com.bank.crm.clientservice;
+
+import com.bank.crm.clientservice.models.ClientProfile;
+import com.bank.crm.clientservice.models.enums.ClientStatusTypes;
+import com.bank.crm.clientservice.repositories.ClientProfileRepository;
+import com.bank.crm.clientservice.services.ClientProfileExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.bank.crm.clientservice.TestDataFactory.validClientProfile;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+public class ClientProfileExportServiceTest {
+
+    private ClientProfileExportService exportService;
+    private ClientProfileRepository mockRepo;
+    private EntityManager mockEntityManager;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        mockRepo = mock(ClientProfileRepository.class);
+        mockEntityManager = mock(EntityManager.class);
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        exportService = new ClientProfileExportService(mockRepo, mockEntityManager, objectMapper);
+    }
+
+    @Test
+    void shouldWriteOneJsonObjectPerLine() throws Exception {
+        ClientProfile first = validClientProfile();
+        first.setClientId(UUID.randomUUID());
+        ClientProfile second = validClientProfile();
+        second.setClientId(UUID.randomUUID());
+        when(mockRepo.streamByStatusNot(ClientStatusTypes.INACTIVE)).thenReturn(Stream.of(first, second));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportClientProfiles(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(first.getClientId().toString(), objectMapper.readTree(lines[0]).get("clientId").asText());
+        assertEquals(second.getClientId().toString(), objectMapper.readTree(lines[1]).get("clientId").asText());
+        assertTrue(out.toString(StandardCharsets.UTF_8).endsWith("\n"));
+    }
+
+    @Test
+    void shouldClearPersistenceContextPeriodically() throws Exception {
+        int rows = 2_500;
+        when(mockRepo.streamByStatusNot(ClientStatusTypes.INACTIVE))
+                .thenReturn(IntStream.range(0, rows).mapToObj(i -> validClientProfile()));
+
+        exportService.exportClientProfiles(new ByteArrayOutputStream());
+
+        verify(mockEntityManager, times(2)).clear();
+    }
+}
@@ -0,0 +1,195 @@
+package com.bank.crm.clientservice;
+
+import com.bank.crm.clientservice.controllers.ClientProfileGrpcController;
+import com.bank.crm.clientservice.dto.ClientProfilePage;
+import com.bank.crm.clientservice.dto.ClientProfileResponse;
+import com.bank.crm.clientservice.exceptions.BatchSizeExceededException;
+import com.bank.crm.clientservice.exceptions.ClientNotFoundException;
+import com.bank.crm.clientservice.grpc.BatchGetClientsRequest;
+import com.bank.crm.clientservice.grpc.BatchGetClientsResponse;
+import com.bank.crm.clientservice.grpc.ClientProfile;
+import com.bank.crm.clientservice.grpc.ClientProfilesGrpc;
+import com.bank.crm.clientservice.grpc.GetClientRequest;
+import com.bank.crm.clientservice.grpc.ListClientsByAgentRequest;
+import com.bank.crm.clientservice.services.ClientProfileService;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.bank.crm.clientservice.TestDataFactory.validClientProfileResponse;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ClientProfileGrpcControllerTest {
+
+    private ClientProfileService clientProfileService;
+    private Server server;
+    private ManagedChannel channel;
+    private ClientProfilesGrpc.ClientProfilesBlockingStub stub;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        clientProfileService = mock(ClientProfileService.class);
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .directExecutor()
+                .addService(new ClientProfileGrpcController(clientProfileService))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+        stub = ClientProfilesGrpc.newBlockingStub(channel);
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    void shouldGetClient() {
+        ClientProfileResponse profile = validClientProfileResponse();
+        profile.setVersion(3L);
+        when(clientProfileService.getClientProfile(profile.getClientId())).thenReturn(profile);
+
+        ClientProfile message = stub.getClient(GetClientRequest.newBuilder()
+                .setClientId(profile.getClientId().toString())
+                .build());
+
+        assertEquals(profile.getClientId().toString(), message.getClientId());
+        assertEquals("John", message.getFirstName());
+        assertEquals("1990-01-15", message.getDateOfBirth());
+        assertEquals("MALE", message.getGender());
+        assertEquals("ACTIVE", message.getStatus());
+        assertEquals("test-agent-id", message.getAgentId());
+        assertEquals(3L, message.getVersion());
+    }
+
+    @Test
+    void shouldMapMissingClientAndBadIdToStatus() {
+        UUID missing = UUID.randomUUID();
+        when(clientProfileService.getClientProfile(missing)).thenThrow(new ClientNotFoundException(missing));
+
+        StatusRuntimeException notFound = assertThrows(StatusRuntimeException.class, () ->
+                stub.getClient(GetClientRequest.newBuilder().setClientId(missing.toString()).build()));
+        StatusRuntimeException badId = assertThrows(StatusRuntimeException.class, () ->
+                stub.getClient(GetClientRequest.newBuilder().setClientId("not-a-uuid").build()));
+
+        assertEquals(Status.Code.NOT_FOUND, notFound.getStatus().getCode());
+        assertEquals(Status.Code.INVALID_ARGUMENT, badId.getStatus().getCode());
+    }
+
+    @Test
+    void shouldBatchGetClientsAndListMissingIds() {
+        ClientProfileResponse found = validClientProfileResponse();
+        UUID missing = UUID.randomUUID();
+        when(clientProfileService.getClientProfiles(List.of(found.getClientId(), missing), "peer-service"))
+                .thenReturn(List.of(found));
+
+        BatchGetClientsResponse response = stub.batchGetClients(BatchGetClientsRequest.newBuilder()
+                .addClientIds(found.getClientId().toString())
+                .addClientIds(missing.toString())
+                .setUserId("peer-service")
+                .build());
+
+        assertEquals(List.of(found.getClientId().toString()),
+                response.getClientsList().stream().map(ClientProfile::getClientId).toList());
+        assertEquals(List.of(missing.toString()), response.getMissingClientIdsList());
+    }
+
+    @Test
+    void shouldRejectOversizedBatch() {
+        when(clientProfileService.getClientProfiles(anyCollection(), eq("SYSTEM")))
+                .thenThrow(new BatchSizeExceededException(1_001, ClientProfileService.MAX_BULK_SIZE));
+
+        StatusRuntimeException e = assertThrows(StatusRuntimeException.class, () ->
+                stub.batchGetClients(BatchGetClientsRequest.newBuilder()
+                        .addClientIds(UUID.randomUUID().toString())
+                        .build()));
+
+        assertEquals(Status.Code.INVALID_ARGUMENT, e.getStatus().getCode());
+    }
+
+    @Test
+    void shouldStreamAgentClientsPageByPageThroughAuditedServiceCall() {
+        ClientProfileResponse first = validClientProfileResponse();
+        ClientProfileResponse second = validClientProfileResponse();
+        when(clientProfileService.getClientProfilePage("agent-1", null, ClientProfileService.MAX_PAGE_SIZE))
+                .thenReturn(new ClientProfilePage(List.of(first), first.getClientId()));
+        when(clientProfileService.getClientProfilePage("agent-1", first.getClientId(), ClientProfileService.MAX_PAGE_SIZE))
+                .thenReturn(new ClientProfilePage(List.of(second), null));
+
+        List<String> streamed = new ArrayList<>();
+        stub.listClientsByAgent(ListClientsByAgentRequest.newBuilder().setAgentId("agent-1").build())
+                .forEachRemaining(message -> streamed.add(message.getClientId()));
+
+        assertEquals(List.of(first.getClientId().toString(), second.getClientId().toString()), streamed);
+        verify(clientProfileService, never()).getClientProfiles(anyString());
+
+        StatusRuntimeException e = assertThrows(StatusRuntimeException.class, () ->
+                stub.listClientsByAgent(ListClientsByAgentRequest.newBuilder().build()).hasNext());
+        assertEquals(Status.Code.INVALID_ARGUMENT, e.getStatus().getCode());
+    }
+
+    @Test
+    void shouldNotReadNextPageUntilClientAsksForMore() {
+        ClientProfileResponse first = validClientProfileResponse();
+        ClientProfileResponse second = validClientProfileResponse();
+        when(clientProfileService.getClientProfilePage("agent-1", null, ClientProfileService.MAX_PAGE_SIZE))
+                .thenReturn(new ClientProfilePage(List.of(first), first.getClientId()));
+        when(clientProfileService.getClientProfilePage("agent-1", first.getClientId(), ClientProfileService.MAX_PAGE_SIZE))
+                .thenReturn(new ClientProfilePage(List.of(second), null));
+
+        List<String> received = new ArrayList<>();
+        AtomicBoolean completed = new AtomicBoolean();
+        AtomicReference<ClientCallStreamObserver<ListClientsByAgentRequest>> call = new AtomicReference<>();
+        ClientProfilesGrpc.newStub(channel).listClientsByAgent(
+                ListClientsByAgentRequest.newBuilder().setAgentId("agent-1").build(),
+                new ClientResponseObserver<ListClientsByAgentRequest, ClientProfile>() {
+                    @Override
+                    public void beforeStart(ClientCallStreamObserver<ListClientsByAgentRequest> requestStream) {
+                        call.set(requestStream);
+                        requestStream.disableAutoRequestWithInitial(1);
+                    }
+
+                    @Override
+                    public void onNext(ClientProfile value) {
+                        received.add(value.getClientId());
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        fail(t);
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        completed.set(true);
+                    }
+                });
+
+        assertEquals(List.of(first.getClientId().toString()), received);
+        verify(clientProfileService, never()).getClientProfilePage("agent-1", first.getClientId(),
+                ClientProfileService.MAX_PAGE_SIZE);
+
+        call.get().request(2);
+
+        assertEquals(List.of(first.getClientId().toString(), second.getClientId().toString()), received);
+        assertTrue(completed.get());
+    }
+}
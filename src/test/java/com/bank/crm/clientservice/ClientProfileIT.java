@@ -1,6 +1,7 @@
 package com.bank.crm.clientservice;
 
 import com.bank.crm.clientservice.dto.ClientProfileCreateRequest;
+import com.bank.crm.clientservice.dto.ClientProfileUpdateRequest;
 import com.bank.crm.clientservice.dto.ClientStatusUpdateRequest;
 import com.bank.crm.clientservice.models.ClientProfile;
 import com.bank.crm.clientservice.models.enums.ClientStatusTypes;
@@ -23,6 +24,7 @@ import static com.bank.crm.clientservice.TestDataFactory.validClientProfile;
 import static com.bank.crm.clientservice.TestDataFactory.validClientProfileUpdateRequest;
 import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -30,6 +32,9 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.hamcrest.Matchers.is;
 
 import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import jakarta.persistence.EntityManager;
@@ -44,7 +49,8 @@ import jakarta.persistence.EntityManager;
         "aws.sqs.logging-queue-url=http://localhost:4566/000000000000/test-queue",
         "aws.sqs.verification_request_queue_url=http://localhost:4566/000000000000/test-verification-request-queue",
         "aws.sqs.verification_results_queue_url=http://localhost:4566/000000000000/test-verification-results-queue",
-        "verification.polling.enabled=false"
+        "verification.polling.enabled=false",
+        "grpc.server.port=0"
 })
 class ClientProfileIT {
 
@@ -414,6 +420,44 @@ class ClientProfileIT {
                 .andExpect(content().string(containsString(unknownClientId)));
     }
 
+    @Test
+    void shouldAnswerConditionalRequestsWithRowVersion() throws Exception {
+        ClientProfile existingClientProfile = validClientProfile();
+        clientProfileRepository.saveAndFlush(existingClientProfile);
+        String path = "/client-profile/" + existingClientProfile.getClientId();
+
+        String eTag = mvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mvc.perform(get(path).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        ClientProfileUpdateRequest update = new ClientProfileUpdateRequest();
+        update.setCity("Penang");
+        String newETag = mvc.perform(put(path)
+                        .header("If-Match", eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(eTag, newETag);
+
+        update.setCity("Kuala Lumpur");
+        mvc.perform(put(path)
+                        .header("If-Match", eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isPreconditionFailed());
+
+        mvc.perform(get(path).header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", newETag))
+                .andExpect(jsonPath("$.city", is("Penang")));
+    }
+
     @Test
     void shouldFailWhenInvalidUUIDOnFetch() throws Exception {
         mvc.perform(get("/client-profile/ssss"))
@@ -548,4 +592,134 @@ class ClientProfileIT {
                 .andExpect(status().isNotFound())
                 .andExpect(content().string("Client not found with ID: " + randomId));
     }
+
+    @Test
+    void shouldReturnOnlyAgentsNonInactiveClientsOnBatchFetch() throws Exception {
+        var ownActive = validClientProfile();
+        ownActive.setEmailAddress("own.active@example.com");
+        ownActive.setPhoneNumber("+6580000001");
+        clientProfileRepository.saveAndFlush(ownActive);
+
+        var ownInactive = validClientProfile();
+        ownInactive.setEmailAddress("own.inactive@example.com");
+        ownInactive.setPhoneNumber("+6580000002");
+        ownInactive.setStatus(ClientStatusTypes.INACTIVE);
+        clientProfileRepository.saveAndFlush(ownInactive);
+
+        var otherAgents = validClientProfile();
+        otherAgents.setEmailAddress("other.agent@example.com");
+        otherAgents.setPhoneNumber("+6580000003");
+        otherAgents.setAgent_id("other-agent-id");
+        clientProfileRepository.saveAndFlush(otherAgents);
+
+        mvc.perform(post("/client-profile/batch")
+                        .param("userId", ownActive.getAgent_id()))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].clientId", is(ownActive.getClientId().toString())));
+    }
+
+    @Test
+    void shouldSearchByPartialNameEmailOrCityAndSkipInactive() throws Exception {
+        var byName = validClientProfile();
+        byName.setFirstName("Zebulon");
+        byName.setEmailAddress("search.one@example.com");
+        byName.setPhoneNumber("+6582000001");
+        clientProfileRepository.saveAndFlush(byName);
+        var byEmail = validClientProfile();
+        byEmail.setEmailAddress("zebulon.fan@example.com");
+        byEmail.setPhoneNumber("+6582000002");
+        clientProfileRepository.saveAndFlush(byEmail);
+        var inactive = validClientProfile();
+        inactive.setFirstName("Zebulon");
+        inactive.setEmailAddress("search.inactive@example.com");
+        inactive.setPhoneNumber("+6582000003");
+        inactive.setStatus(ClientStatusTypes.INACTIVE);
+        clientProfileRepository.saveAndFlush(inactive);
+
+        Set<String> seenIds = new HashSet<>();
+        String after = null;
+        do {
+            var request = get("/client-profile/search").param("q", "zebul").param("limit", "1");
+            if (after != null) {
+                request.param("after", after);
+            }
+            var body = objectMapper.readTree(mvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            body.get("items").forEach(item -> assertTrue(seenIds.add(item.get("clientId").asText())));
+            after = body.get("next").isNull() ? null : body.get("next").asText();
+        } while (after != null);
+
+        assertEquals(Set.of(byName.getClientId().toString(), byEmail.getClientId().toString()), seenIds);
+    }
+
+    @Test
+    void shouldWalkAllNonInactiveClientsWithCursor() throws Exception {
+        Set<String> expectedIds = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            var client = validClientProfile();
+            client.setEmailAddress("page" + i + "@example.com");
+            client.setPhoneNumber("+658100000" + i);
+            clientProfileRepository.saveAndFlush(client);
+            expectedIds.add(client.getClientId().toString());
+        }
+        var inactive = validClientProfile();
+        inactive.setEmailAddress("page.inactive@example.com");
+        inactive.setPhoneNumber("+6581000009");
+        inactive.setStatus(ClientStatusTypes.INACTIVE);
+        clientProfileRepository.saveAndFlush(inactive);
+
+        Set<String> seenIds = new HashSet<>();
+        String after = null;
+        do {
+            var request = get("/client-profile").param("limit", "2");
+            if (after != null) {
+                request.param("after", after);
+            }
+            var body = objectMapper.readTree(mvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            body.get("items").forEach(item -> assertTrue(seenIds.add(item.get("clientId").asText())));
+            after = body.get("next").isNull() ? null : body.get("next").asText();
+        } while (after != null);
+
+        assertEquals(expectedIds, seenIds);
+    }
+
+    @Test
+    void shouldBulkCreateAndReportPerItemResults() throws Exception {
+        var existing = validClientProfile();
+        existing.setEmailAddress("bulk.existing@example.com");
+        existing.setPhoneNumber("+6582000000");
+        clientProfileRepository.saveAndFlush(existing);
+
+        ClientProfileCreateRequest first = TestDataFactory.validClientProfileCreateRequest();
+        first.setEmailAddress("bulk.first@example.com");
+        first.setPhoneNumber("+6582000001");
+        ClientProfileCreateRequest second = TestDataFactory.validClientProfileCreateRequest();
+        second.setEmailAddress("bulk.second@example.com");
+        second.setPhoneNumber("+6582000002");
+        ClientProfileCreateRequest clashing = TestDataFactory.validClientProfileCreateRequest();
+        clashing.setEmailAddress("bulk.existing@example.com");
+        clashing.setPhoneNumber("+6582000003");
+        ClientProfileCreateRequest invalid = TestDataFactory.validClientProfileCreateRequest();
+        invalid.setEmailAddress("not-an-email");
+
+        mvc.perform(post("/client-profile/bulk")
+                        .header("X-User-Id", "bulk-agent")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(first, second, clashing, invalid))))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is("CREATED")))
+                .andExpect(jsonPath("$[1].status", is("CREATED")))
+                .andExpect(jsonPath("$[2].status", is("DUPLICATE")))
+                .andExpect(jsonPath("$[2].errors[0]", is("emailAddress")))
+                .andExpect(jsonPath("$[3].status", is("INVALID")));
+
+        assertTrue(clientProfileRepository.existsByEmailAddress("bulk.first@example.com"));
+        assertTrue(clientProfileRepository.existsByEmailAddress("bulk.second@example.com"));
+    }
 }
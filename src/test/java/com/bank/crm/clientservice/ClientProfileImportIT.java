@@ -0,0 +1,145 @@
+package com.bank.crm.clientservice;
+
+import com.bank.crm.clientservice.dto.ClientProfileImportJob;
+import com.bank.crm.clientservice.exceptions.ImportTooLargeException;
+import com.bank.crm.clientservice.models.ClientProfile;
+import com.bank.crm.clientservice.repositories.ClientProfileRepository;
+import com.bank.crm.clientservice.services.ClientProfileImportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static com.bank.crm.clientservice.TestDataFactory.validClientProfile;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Not @Transactional: the import runs on its own worker thread and connection.
+ */
+@Testcontainers
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = {
+        "spring.profiles.active=test",
+        "aws.sqs.logging-queue-url=http://localhost:4566/000000000000/test-queue",
+        "aws.sqs.verification_request_queue_url=http://localhost:4566/000000000000/test-verification-request-queue",
+        "aws.sqs.verification_results_queue_url=http://localhost:4566/000000000000/test-verification-results-queue",
+        "verification.polling.enabled=false",
+        "grpc.server.port=0",
+        "client-profile.import.max-upload-bytes=65536"
+})
+class ClientProfileImportIT {
+
+    private static final long TIMEOUT_MS = 30_000;
+    private static final String AGENT = "import-agent";
+    private static final String HEADER =
+            "firstName,lastName,dateOfBirth,gender,emailAddress,phoneNumber,address,city,state,country,postalCode\n";
+
+    @Autowired
+    private ClientProfileImportService clientProfileImportService;
+
+    @Autowired
+    private ClientProfileRepository clientProfileRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM client_profile WHERE agent_id = ?", AGENT);
+    }
+
+    @Test
+    void importCsv_loadsValidRowsAndReportsInvalidAndDuplicates() throws Exception {
+        ClientProfile existing = validClientProfile();
+        existing.setEmailAddress("import.existing@example.com");
+        existing.setPhoneNumber("+6590000000");
+        existing.setAgent_id(AGENT);
+        clientProfileRepository.saveAndFlush(existing);
+
+        String csv = HEADER
+                + "Alice,Tan,1990-05-15,FEMALE,import.alice@example.com,+6590000001,1 Orchard Road,Singapore,Singapore,SG,238801\n"
+                + "\"Bob\",\"Lim\",1985-12-03,MALE,import.bob@example.com,+6590000002,\"2 Marina Bay, Tower 1\",Singapore,Singapore,SG,018956\n"
+                + "Carol,Ng,not-a-date,FEMALE,import.carol@example.com,+6590000003,3 Bugis Street,Singapore,Singapore,SG,188867\n"
+                + "Dave,Koh,1992-08-20,MALE,import.existing@example.com,+6590000004,4 Clarke Quay,Singapore,Singapore,SG,179024\n"
+                + "Eve,Goh,1993-01-01,FEMALE,import.eve@example.com,+6590000001,5 Holland Road,Singapore,Singapore,SG,278566\n";
+
+        ClientProfileImportJob job = awaitFinished(clientProfileImportService.startImport(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), AGENT).getJobId());
+
+        assertEquals(ClientProfileImportJob.State.COMPLETED, job.getState());
+        assertEquals(5, job.getRowsRead());
+        assertEquals(2, job.getRowsImported());
+        assertEquals(1, job.getRowsInvalid());
+        assertEquals(2, job.getRowsDuplicate());
+        assertTrue(job.getErrors().contains("Line 4: Date of birth must be formatted as yyyy-MM-dd"));
+        assertTrue(job.getErrors().contains("Line 5: Duplicate emailAddress"));
+        assertTrue(job.getErrors().contains("Line 6: Duplicate phoneNumber"));
+
+        assertTrue(clientProfileRepository.existsByEmailAddress("import.alice@example.com"));
+        assertTrue(clientProfileRepository.existsByEmailAddress("import.bob@example.com"));
+        assertFalse(clientProfileRepository.existsByEmailAddress("import.eve@example.com"));
+        assertEquals("2 Marina Bay, Tower 1", jdbcTemplate.queryForObject(
+                "SELECT address FROM client_profile WHERE email_address = ?", String.class, "import.bob@example.com"));
+    }
+
+    @Test
+    void importCsv_reportsRowsBreakingSchemaChecksAsInvalid() throws Exception {
+        String child = LocalDate.now().minusYears(10).toString();
+        String csv = HEADER
+                + "Grace,Teo,1991-02-03,FEMALE,import.grace@example.com,+6590000011,6 Tanjong Pagar,Singapore,Singapore,SG,088443\n"
+                + "Henry,Teo," + child + ",MALE,import.henry@example.com,+6590000012,7 Tanjong Pagar,Singapore,Singapore,SG,088443\n"
+                + "Ivy,Teo,1900-01-01,FEMALE,import.ivy@example.com,+6590000013,8 Tanjong Pagar,Singapore,Singapore,SG,088443\n"
+                + "Jack,Teo,1989-04-05,MALE,import.jack@localhost,+6590000014,9 Tanjong Pagar,Singapore,Singapore,SG,088443\n";
+
+        ClientProfileImportJob job = awaitFinished(clientProfileImportService.startImport(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), AGENT).getJobId());
+
+        assertEquals(ClientProfileImportJob.State.COMPLETED, job.getState());
+        assertEquals(1, job.getRowsImported());
+        assertEquals(3, job.getRowsInvalid());
+        assertTrue(job.getErrors().contains("Line 3: Client must be between 18 and 100 years old"));
+        assertTrue(job.getErrors().contains("Line 4: Client must be between 18 and 100 years old"));
+        assertTrue(job.getErrors().contains("Line 5: Email address must be valid"));
+        assertTrue(clientProfileRepository.existsByEmailAddress("import.grace@example.com"));
+    }
+
+    @Test
+    void importCsv_failsWhenHeaderIsMissingColumns() throws Exception {
+        String csv = "firstName,lastName\nAlice,Tan\n";
+
+        ClientProfileImportJob job = awaitFinished(clientProfileImportService.startImport(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), AGENT).getJobId());
+
+        assertEquals(ClientProfileImportJob.State.FAILED, job.getState());
+        assertTrue(job.getFailureReason().startsWith("CSV header is missing columns: dateOfBirth"));
+    }
+
+    @Test
+    void importCsv_rejectsUploadAboveMaximumSize() {
+        String csv = HEADER + "Alice,Tan,1990-01-01,Female,alice@example.com,+6591234567,1 Road,SG,SG,SG,123456\n"
+                .repeat(1_000);
+
+        assertThrows(ImportTooLargeException.class, () -> clientProfileImportService.startImport(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), AGENT));
+    }
+
+    private ClientProfileImportJob awaitFinished(UUID jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        ClientProfileImportJob job = clientProfileImportService.getImportJob(jobId);
+        while (job.getState() != ClientProfileImportJob.State.COMPLETED
+                && job.getState() != ClientProfileImportJob.State.FAILED
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+            job = clientProfileImportService.getImportJob(jobId);
+        }
+        return job;
+    }
+}
@@ -0,0 +1,90 @@
+package com.bank.crm.clientservice;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+
+/**
+ * Checks with EXPLAIN that the hot lookups are served by the indexes from the migrations.
+ * Seeded and analysed inside the test transaction, so nothing outlives a test.
+ */
+@Transactional
+@Testcontainers
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = {
+        "spring.profiles.active=test",
+        "aws.sqs.logging-queue-url=http://localhost:4566/000000000000/test-queue",
+        "aws.sqs.verification_request_queue_url=http://localhost:4566/000000000000/test-verification-request-queue",
+        "aws.sqs.verification_results_queue_url=http://localhost:4566/000000000000/test-verification-results-queue",
+        "verification.polling.enabled=false",
+        "grpc.server.port=0"
+})
+class ClientProfileIndexIT {
+
+    private static final int ROWS = 20_000;
+    private static final int AGENTS = 200;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seedTable() {
+        // One in ten clients is INACTIVE and one in a hundred PENDING
+        jdbcTemplate.update("""
+                INSERT INTO client_profile (client_id, first_name, last_name, date_of_birth, gender,
+                        email_address, phone_number, address, city, state, country, postal_code, status, agent_id)
+                SELECT gen_random_uuid(), 'Index', 'Client', DATE '1990-01-01', 'MALE',
+                        'index' || g || '@example.com', '+66' || lpad(g::text, 10, '0'),
+                        '1 Planner Road', 'Singapore', 'Singapore', 'SG', '123456',
+                        CAST(CASE WHEN g % 10 = 0 THEN 'INACTIVE'
+                                  WHEN g % 100 = 1 THEN 'PENDING'
+                                  ELSE 'ACTIVE' END AS client_status_types),
+                        'index-agent-' || (g % ?)
+                FROM generate_series(1, ?) AS g
+                """, AGENTS, ROWS);
+        jdbcTemplate.execute("ANALYZE client_profile");
+    }
+
+    @Test
+    void agentPortfolio_usesPartialAgentIndex() {
+        assertThat(explain("SELECT client_id, first_name FROM client_profile "
+                        + "WHERE agent_id = 'index-agent-7' AND status <> 'INACTIVE'"),
+                containsString("idx_client_profile_agent_active"));
+    }
+
+    @Test
+    void emailLookup_usesCaseInsensitiveUniqueIndex() {
+        assertThat(explain("SELECT client_id FROM client_profile WHERE email_address = 'Index42@Example.COM'"),
+                containsString("uk_client_profile_email_address"));
+    }
+
+    @Test
+    void pendingClients_usePartialStatusIndex() {
+        assertThat(explain("SELECT client_id FROM client_profile WHERE status = 'PENDING'"),
+                containsString("idx_client_profile_pending"));
+    }
+
+    @Test
+    void search_usesTrigramIndexes() {
+        String plan = explain("SELECT client_id FROM client_profile WHERE status <> 'INACTIVE' "
+                + "AND ((first_name || ' ' || last_name) ILIKE '%zqxwv%' "
+                + "OR CAST(email_address AS text) ILIKE '%zqxwv%' "
+                + "OR city ILIKE '%zqxwv%')");
+
+        assertThat(plan, containsString("idx_client_profile_name_trgm"));
+        assertThat(plan, containsString("idx_client_profile_email_trgm"));
+        assertThat(plan, containsString("idx_client_profile_city_trgm"));
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+    }
+}
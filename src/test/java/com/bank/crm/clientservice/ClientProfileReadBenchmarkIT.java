@@ -0,0 +1,149 @@
+package com.bank.crm.clientservice;
+
+import com.bank.crm.clientservice.dto.ClientProfileResponse;
+import com.bank.crm.clientservice.models.ClientProfile;
+import com.bank.crm.clientservice.models.enums.ClientStatusTypes;
+import com.bank.crm.clientservice.repositories.ClientProfileRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Read-path benchmarks against a seeded table.
+ * Run with: mvn verify -Dbenchmark=true -Dit.test=ClientProfileReadBenchmarkIT [-Dbenchmark.rows=1000000]
+ */
+@Testcontainers
+@Import(TestcontainersConfiguration.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = {
+        "spring.profiles.active=test",
+        "spring.jpa.show-sql=false",
+        "aws.sqs.logging-queue-url=http://localhost:4566/000000000000/test-queue",
+        "aws.sqs.verification_request_queue_url=http://localhost:4566/000000000000/test-verification-request-queue",
+        "aws.sqs.verification_results_queue_url=http://localhost:4566/000000000000/test-verification-results-queue",
+        "verification.polling.enabled=false",
+        "grpc.server.port=0"
+})
+class ClientProfileReadBenchmarkIT {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientProfileReadBenchmarkIT.class);
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+    private static final int AGENTS = 1_000;
+    private static final String AGENT_ID = "agent-42";
+    private static final int PAGE_ROWS = 10_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ClientProfileRepository clientProfileRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeAll
+    void seedTable() {
+        // One in ten clients is INACTIVE, spread evenly across the agents
+        jdbcTemplate.update("""
+                INSERT INTO client_profile (client_id, first_name, last_name, date_of_birth, gender,
+                        email_address, phone_number, address, city, state, country, postal_code, status, agent_id)
+                SELECT gen_random_uuid(), 'Bench', 'Client', DATE '1990-01-01', 'MALE',
+                        'client' || g || '@example.com', '+65' || lpad(g::text, 10, '0'),
+                        '1 Benchmark Road', 'Singapore', 'Singapore', 'SG', '123456',
+                        CAST(CASE WHEN g % 10 = 0 THEN 'INACTIVE' ELSE 'ACTIVE' END AS client_status_types),
+                        'agent-' || (g % ?)
+                FROM generate_series(1, ?) AS g
+                """, AGENTS, ROWS);
+        jdbcTemplate.execute("ANALYZE client_profile");
+        logger.info("Seeded {} client profiles across {} agents", ROWS, AGENTS);
+    }
+
+    @Test
+    void agentPortfolioFetch() {
+        List<ClientProfile> viaFindAll = measure("portfolio via findAll() + filter", 3, () ->
+                clientProfileRepository.findAll().stream()
+                        .filter(profile -> profile.getStatus() != ClientStatusTypes.INACTIVE)
+                        .filter(profile -> profile.getAgent_id().equals(AGENT_ID))
+                        .toList());
+
+        List<ClientProfileResponse> viaQuery = measure("portfolio via indexed query", 50, () ->
+                clientProfileRepository.findActiveByAgentId(AGENT_ID));
+
+        assertEquals(viaFindAll.size(), viaQuery.size());
+    }
+
+    @Test
+    void entityVersusProjectionReads() {
+        // Read-write transactions, so the entity side pays for snapshots and the flush-time dirty check
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        UUID clientId = jdbcTemplate.queryForObject(
+                "SELECT client_id FROM client_profile WHERE status <> 'INACTIVE' LIMIT 1", UUID.class);
+
+        measure("single row as managed entity", 1_000, () -> transaction.execute(status ->
+                List.of(entityManager.find(ClientProfile.class, clientId))));
+        measure("single row as projection", 1_000, () -> transaction.execute(status ->
+                clientProfileRepository.findResponseById(clientId, ClientStatusTypes.INACTIVE).stream().toList()));
+
+        List<ClientProfile> entities = measure("10k rows as managed entities", 20, () -> transaction.execute(status ->
+                entityManager.createQuery(
+                                "SELECT c FROM ClientProfile c WHERE c.status <> :excludedStatus ORDER BY c.clientId",
+                                ClientProfile.class)
+                        .setParameter("excludedStatus", ClientStatusTypes.INACTIVE)
+                        .setMaxResults(PAGE_ROWS)
+                        .getResultList()));
+        List<ClientProfileResponse> projections = measure("10k rows as projections", 20, () -> transaction.execute(status ->
+                clientProfileRepository.findFirstPage(ClientStatusTypes.INACTIVE, Limit.of(PAGE_ROWS))));
+
+        assertEquals(entities.size(), projections.size());
+    }
+
+    private <T> List<T> measure(String label, int iterations, Supplier<List<T>> query) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        List<T> result = query.get(); // warm-up
+        long[] latenciesNanos = new long[iterations];
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            result = query.get();
+            latenciesNanos[i] = System.nanoTime() - start;
+        }
+
+        long allocatedPerCall = (threads.getCurrentThreadAllocatedBytes() - allocatedBefore) / iterations;
+        Arrays.sort(latenciesNanos);
+        logger.info("{}: rows={}, p50={} ms, p99={} ms, allocated={} KB/call",
+                label,
+                result.size(),
+                latenciesNanos[iterations / 2] / 1_000_000.0,
+                latenciesNanos[(int) Math.ceil(iterations * 0.99) - 1] / 1_000_000.0,
+                allocatedPerCall / 1024);
+        return result;
+    }
+}
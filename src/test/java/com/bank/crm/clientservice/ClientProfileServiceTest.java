@@ -1,22 +1,45 @@
 package com.bank.crm.clientservice;
 
 import com.bank.crm.clientservice.dto.*;
+import com.bank.crm.clientservice.exceptions.BatchSizeExceededException;
 import com.bank.crm.clientservice.exceptions.ClientNotFoundException;
 import com.bank.crm.clientservice.exceptions.ClientNotPendingException;
+import com.bank.crm.clientservice.exceptions.ClientProfileConflictException;
+import com.bank.crm.clientservice.exceptions.ClientProfileVersionMismatchException;
+import com.bank.crm.clientservice.exceptions.InvalidSearchQueryException;
 import com.bank.crm.clientservice.exceptions.NonUniqueFieldException;
 import com.bank.crm.clientservice.models.ClientProfile;
 import com.bank.crm.clientservice.models.enums.ClientStatusTypes;
 import com.bank.crm.clientservice.repositories.ClientProfileRepository;
+import com.bank.crm.clientservice.services.ClientNameSuggestionIndex;
+import com.bank.crm.clientservice.services.ClientProfileCacheService;
 import com.bank.crm.clientservice.services.ClientProfileService;
 import com.bank.crm.clientservice.services.LoggingService;
 import com.bank.crm.clientservice.services.VerificationService;
+import jakarta.validation.Validation;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static com.bank.crm.clientservice.TestDataFactory.validClientProfile;
+import static com.bank.crm.clientservice.TestDataFactory.validClientProfileResponse;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -29,22 +52,29 @@ public class ClientProfileServiceTest {
     private ClientProfileRepository mockRepo;
     private LoggingService mockLoggingService;
     private VerificationService mockVerificationService;
+    private ClientProfileCacheService clientProfileCacheService;
+    private ClientNameSuggestionIndex mockSuggestionIndex;
+    private PlatformTransactionManager mockTransactionManager;
 
     @BeforeEach
     void setUp() {
         mockRepo = mock(ClientProfileRepository.class);
         mockLoggingService = mock(LoggingService.class);
         mockVerificationService = mock(VerificationService.class);
-        clientProfileService = new ClientProfileService(mockRepo, mockLoggingService, mockVerificationService);
+        mockSuggestionIndex = mock(ClientNameSuggestionIndex.class);
+        mockTransactionManager = mock(PlatformTransactionManager.class);
+        clientProfileCacheService = new ClientProfileCacheService(
+                new ConcurrentMapCacheManager(ClientProfileCacheService.CACHE_NAME), mock(JdbcTemplate.class), true);
+        clientProfileService = new ClientProfileService(mockRepo, mockLoggingService, mockVerificationService,
+                clientProfileCacheService, Validation.buildDefaultValidatorFactory().getValidator(), mockSuggestionIndex,
+                mockTransactionManager);
     }
 
     @Test
     void shouldCreateClientSuccessfully_WhenEmailAndPhoneUnique() {
         ClientProfileCreateRequest request = TestDataFactory.validClientProfileCreateRequest();
 
-        when(mockRepo.existsByEmailAddress(request.getEmailAddress())).thenReturn(false);
-        when(mockRepo.existsByPhoneNumber(request.getPhoneNumber())).thenReturn(false);
-        when(mockRepo.save(any(ClientProfile.class))).thenAnswer(invocation -> {
+        when(mockRepo.saveAndFlush(any(ClientProfile.class))).thenAnswer(invocation -> {
             ClientProfile client = invocation.getArgument(0);
             client.setClientId(UUID.randomUUID());
             client.setStatus(ClientStatusTypes.PENDING);
@@ -57,14 +87,17 @@ public class ClientProfileServiceTest {
         assertEquals("ValidFirst", created.getFirstName());
         assertEquals("ValidLast", created.getLastName());
         assertNotNull(created.getClientId());
+        verify(mockSuggestionIndex).put(argThat(profile -> profile.getClientId().equals(created.getClientId())));
+        verify(mockRepo, never()).existsByEmailAddress(anyString());
+        verify(mockRepo, never()).existsByPhoneNumber(anyString());
     }
 
     @Test
     void shouldThrowNonUniqueFieldException_WhenEmailAlreadyExists() {
         ClientProfileCreateRequest request = TestDataFactory.validClientProfileCreateRequest();
 
-        when(mockRepo.existsByEmailAddress(request.getEmailAddress())).thenReturn(true);
-        when(mockRepo.existsByPhoneNumber(request.getPhoneNumber())).thenReturn(false);
+        when(mockRepo.saveAndFlush(any(ClientProfile.class)))
+                .thenThrow(uniqueViolation(ClientProfile.EMAIL_UNIQUE_CONSTRAINT));
 
         NonUniqueFieldException exception = assertThrows(NonUniqueFieldException.class,
                 () -> clientProfileService.createClientProfile(request, anyString()));
@@ -76,8 +109,8 @@ public class ClientProfileServiceTest {
     void shouldThrowNonUniqueFieldException_WhenPhoneAlreadyExists() {
         ClientProfileCreateRequest request = TestDataFactory.validClientProfileCreateRequest();
 
-        when(mockRepo.existsByEmailAddress(request.getEmailAddress())).thenReturn(false);
-        when(mockRepo.existsByPhoneNumber(request.getPhoneNumber())).thenReturn(true);
+        when(mockRepo.saveAndFlush(any(ClientProfile.class)))
+                .thenThrow(uniqueViolation(ClientProfile.PHONE_UNIQUE_CONSTRAINT));
 
         NonUniqueFieldException exception = assertThrows(NonUniqueFieldException.class,
                 () -> clientProfileService.createClientProfile(request, anyString()));
@@ -89,23 +122,180 @@ public class ClientProfileServiceTest {
     void shouldThrowNonUniqueFieldException_WhenBothEmailAndPhoneAlreadyExist() {
         ClientProfileCreateRequest request = TestDataFactory.validClientProfileCreateRequest();
 
-        when(mockRepo.existsByEmailAddress(request.getEmailAddress())).thenReturn(true);
-        when(mockRepo.existsByPhoneNumber(request.getPhoneNumber())).thenReturn(true);
+        when(mockRepo.saveAndFlush(any(ClientProfile.class)))
+                .thenThrow(uniqueViolation(ClientProfile.EMAIL_UNIQUE_CONSTRAINT));
+        ClientContactDetails emailOwner = contact(request.getEmailAddress().toUpperCase(), "+6500000001");
+        ClientContactDetails phoneOwner = contact("someone.else@example.com", request.getPhoneNumber());
+        when(mockRepo.findContactsClashingWith(request.getEmailAddress(), request.getPhoneNumber(), null))
+                .thenReturn(List.of(emailOwner, phoneOwner));
 
         NonUniqueFieldException exception = assertThrows(NonUniqueFieldException.class,
-                () -> clientProfileService.createClientProfile(request, anyString()));
+                () -> clientProfileService.createClientProfile(request, "test-user"));
 
         assertArrayEquals(new String[]{"emailAddress", "phoneNumber"}, exception.getInvalidFields());
     }
 
+    @Test
+    void shouldRethrowIntegrityViolation_WhenConstraintIsNotAUniqueField() {
+        ClientProfileCreateRequest request = TestDataFactory.validClientProfileCreateRequest();
+        DataIntegrityViolationException violation = uniqueViolation("client_profile_first_name_check");
+
+        when(mockRepo.saveAndFlush(any(ClientProfile.class))).thenThrow(violation);
+
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class,
+                () -> clientProfileService.createClientProfile(request, "test-user")));
+        verify(mockLoggingService, never()).sendCreateLog(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void shouldRollBackCreate_WhenAuditRecordCannotBeWritten() {
+        ClientProfileCreateRequest request = TestDataFactory.validClientProfileCreateRequest();
+        when(mockRepo.saveAndFlush(any(ClientProfile.class))).thenAnswer(invocation -> {
+            ClientProfile client = invocation.getArgument(0);
+            client.setClientId(UUID.randomUUID());
+            return client;
+        });
+        doThrow(new DataAccessResourceFailureException("outbox unavailable"))
+                .when(mockLoggingService).sendCreateLog(anyString(), anyString(), anyString());
+
+        assertThrows(DataAccessResourceFailureException.class,
+                () -> clientProfileService.createClientProfile(request, "test-user"));
+
+        verify(mockTransactionManager).rollback(any());
+        verify(mockTransactionManager, never()).commit(any());
+        verify(mockSuggestionIndex, never()).put(any());
+    }
+
+    @Test
+    void shouldStartAutoVerificationAndAuditItInOneTransaction() {
+        ClientProfile pending = validClientProfile();
+        pending.setClientId(UUID.randomUUID());
+        pending.setStatus(ClientStatusTypes.PENDING);
+        when(mockRepo.findById(pending.getClientId())).thenReturn(Optional.of(pending));
+
+        ClientStatusResponse response = clientProfileService.initialiseAutoVerificationProcess(
+                pending.getClientId(), "test-user", "agent@example.com", "client@example.com");
+
+        assertEquals("PENDING", response.getStatus());
+        verify(mockVerificationService).sendVerificationRequest(
+                pending.getClientId(), "test-user", "agent@example.com", "client@example.com");
+        verify(mockLoggingService).sendUpdateLog(eq("test-user"), eq(pending.getClientId().toString()),
+                eq("Auto-Verification"), eq("Not Started"), eq("Initiated"), anyString());
+        verify(mockTransactionManager).commit(any());
+    }
+
+    @Test
+    void shouldLeaveNoAuditRecord_WhenVerificationRequestCannotBeSent() {
+        ClientProfile pending = validClientProfile();
+        pending.setClientId(UUID.randomUUID());
+        pending.setStatus(ClientStatusTypes.PENDING);
+        when(mockRepo.findById(pending.getClientId())).thenReturn(Optional.of(pending));
+        doThrow(new RuntimeException("Failed to send verification request"))
+                .when(mockVerificationService).sendVerificationRequest(any(), anyString(), anyString(), anyString());
+
+        assertThrows(RuntimeException.class, () -> clientProfileService.initialiseAutoVerificationProcess(
+                pending.getClientId(), "test-user", "agent@example.com", "client@example.com"));
+
+        verify(mockLoggingService, never()).sendUpdateLog(anyString(), anyString(), anyString(), anyString(),
+                anyString(), anyString());
+        verify(mockTransactionManager).rollback(any());
+        verify(mockTransactionManager, never()).commit(any());
+    }
+
+    @Test
+    void shouldBulkCreateWithOneUniquenessQueryAndOneBatchInsert() {
+        List<ClientProfileCreateRequest> requests = List.of(bulkRequest(1), bulkRequest(2), bulkRequest(3));
+        when(mockRepo.findContactsMatching(any(String[].class), any(String[].class))).thenReturn(List.of());
+        when(mockRepo.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+            List<ClientProfile> clients = invocation.getArgument(0);
+            clients.forEach(client -> client.setClientId(UUID.randomUUID()));
+            return clients;
+        });
+
+        List<ClientProfileBulkResult> results = clientProfileService.createClientProfiles(requests, "test-agent-id");
+
+        assertEquals(3, results.size());
+        assertTrue(results.stream().allMatch(r -> r.getStatus() == ClientProfileBulkResult.Status.CREATED));
+        assertEquals(List.of(0, 1, 2), results.stream().map(ClientProfileBulkResult::getIndex).toList());
+        verify(mockRepo, times(1)).findContactsMatching(any(String[].class), any(String[].class));
+        verify(mockRepo, never()).saveAndFlush(any());
+        verify(mockLoggingService).sendCreateLogs(eq("test-agent-id"), argThat((Map<String, String> m) -> m.size() == 3));
+        verify(mockLoggingService, never()).sendCreateLog(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void shouldReportInvalidAndDuplicateItemsWithoutInsertingThem() {
+        ClientProfileCreateRequest invalid = bulkRequest(1);
+        invalid.setPhoneNumber("12345");
+        ClientProfileCreateRequest stored = bulkRequest(2);
+        ClientProfileCreateRequest fresh = bulkRequest(3);
+        ClientProfileCreateRequest repeatOfFresh = bulkRequest(4);
+        repeatOfFresh.setEmailAddress(fresh.getEmailAddress().toUpperCase());
+
+        ClientContactDetails storedContact = mock(ClientContactDetails.class);
+        when(storedContact.getEmailAddress()).thenReturn("someone.else@example.com");
+        when(storedContact.getPhoneNumber()).thenReturn(stored.getPhoneNumber());
+        when(mockRepo.findContactsMatching(any(String[].class), any(String[].class))).thenReturn(List.of(storedContact));
+        when(mockRepo.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+            List<ClientProfile> clients = invocation.getArgument(0);
+            clients.forEach(client -> client.setClientId(UUID.randomUUID()));
+            return clients;
+        });
+
+        List<ClientProfileBulkResult> results = clientProfileService.createClientProfiles(
+                List.of(invalid, stored, fresh, repeatOfFresh), "test-agent-id");
+
+        assertEquals(ClientProfileBulkResult.Status.INVALID, results.get(0).getStatus());
+        assertEquals(List.of("Phone number must start with + and contain 10-15 digits"), results.get(0).getErrors());
+        assertEquals(ClientProfileBulkResult.Status.DUPLICATE, results.get(1).getStatus());
+        assertEquals(List.of("phoneNumber"), results.get(1).getErrors());
+        assertEquals(ClientProfileBulkResult.Status.CREATED, results.get(2).getStatus());
+        assertNotNull(results.get(2).getClientId());
+        assertEquals(ClientProfileBulkResult.Status.DUPLICATE, results.get(3).getStatus());
+        assertEquals(List.of("emailAddress"), results.get(3).getErrors());
+        verify(mockRepo).saveAllAndFlush(argThat((List<ClientProfile> clients) -> clients.size() == 1));
+    }
+
+    @Test
+    void shouldSettleItemsIndividually_WhenBatchInsertHitsConstraint() {
+        ClientProfileCreateRequest first = bulkRequest(1);
+        ClientProfileCreateRequest second = bulkRequest(2);
+        when(mockRepo.findContactsMatching(any(String[].class), any(String[].class))).thenReturn(List.of());
+        when(mockRepo.saveAllAndFlush(anyList())).thenThrow(uniqueViolation(ClientProfile.EMAIL_UNIQUE_CONSTRAINT));
+        when(mockRepo.saveAndFlush(any(ClientProfile.class))).thenAnswer(invocation -> {
+            ClientProfile client = invocation.getArgument(0);
+            if (client.getEmailAddress().equals(second.getEmailAddress())) {
+                throw uniqueViolation(ClientProfile.EMAIL_UNIQUE_CONSTRAINT);
+            }
+            client.setClientId(UUID.randomUUID());
+            return client;
+        });
+
+        List<ClientProfileBulkResult> results = clientProfileService.createClientProfiles(
+                List.of(first, second), "test-agent-id");
+
+        assertEquals(ClientProfileBulkResult.Status.CREATED, results.get(0).getStatus());
+        assertEquals(ClientProfileBulkResult.Status.DUPLICATE, results.get(1).getStatus());
+        assertEquals(List.of("emailAddress"), results.get(1).getErrors());
+        verify(mockLoggingService, never()).sendCreateLogs(anyString(), anyMap());
+    }
+
+    @Test
+    void shouldRejectBulkRequestAboveMaximumSize() {
+        List<ClientProfileCreateRequest> requests =
+                Collections.nCopies(ClientProfileService.MAX_BULK_SIZE + 1, bulkRequest(1));
+
+        assertThrows(BatchSizeExceededException.class,
+                () -> clientProfileService.createClientProfiles(requests, "test-agent-id"));
+        verifyNoInteractions(mockRepo);
+    }
+
     @Test
     void shouldUpdateClientProfileSuccessfully() {
         UUID clientId = UUID.randomUUID();
         ClientProfile existing = TestDataFactory.validClientProfile();
         when(mockRepo.findById(clientId)).thenReturn(Optional.of(existing));
-        when(mockRepo.existsByEmailAddressAndClientIdNot("new@example.com", clientId)).thenReturn(false);
-        when(mockRepo.existsByPhoneNumberAndClientIdNot("+6598765432", clientId)).thenReturn(false);
-        when(mockRepo.save(existing)).thenReturn(existing);
+        when(mockRepo.saveAndFlush(existing)).thenReturn(existing);
 
         ClientProfileUpdateRequest dto = validClientProfileUpdateRequest();
         dto.setFirstName("NewName");
@@ -118,6 +308,25 @@ public class ClientProfileServiceTest {
         assertEquals("NewName", response.getFirstName());
         assertEquals("new@example.com", response.getEmailAddress());
         assertEquals("+6598765432", response.getPhoneNumber());
+        verify(mockSuggestionIndex).put(existing);
+    }
+
+    @Test
+    void shouldNotIndexNewName_WhenUpdateRollsBack() {
+        UUID clientId = UUID.randomUUID();
+        ClientProfile existing = TestDataFactory.validClientProfile();
+        when(mockRepo.findById(clientId)).thenReturn(Optional.of(existing));
+        when(mockRepo.saveAndFlush(existing)).thenReturn(existing);
+        doThrow(new DataAccessResourceFailureException("outbox unavailable")).when(mockLoggingService)
+                .sendUpdateLog(anyString(), anyString(), anyString(), anyString(), anyString(), anyString());
+
+        ClientProfileUpdateRequest dto = validClientProfileUpdateRequest();
+        dto.setFirstName("NewName");
+
+        assertThrows(DataAccessResourceFailureException.class,
+                () -> clientProfileService.updateClientProfile(clientId, dto, "test-user"));
+        verify(mockTransactionManager).rollback(any());
+        verify(mockSuggestionIndex, never()).put(any());
     }
 
     @Test
@@ -130,11 +339,11 @@ public class ClientProfileServiceTest {
     @Test
     void shouldFailEmailNotUniqueConstraint() {
         UUID clientId = UUID.randomUUID();
-        ClientProfile existing = new ClientProfile();
+        ClientProfile existing = validClientProfile();
         existing.setClientId(clientId);
 
         when(mockRepo.findById(clientId)).thenReturn(Optional.of(existing));
-        when(mockRepo.existsByEmailAddressAndClientIdNot("existing@example.com", clientId)).thenReturn(true);
+        when(mockRepo.saveAndFlush(existing)).thenThrow(uniqueViolation(ClientProfile.EMAIL_UNIQUE_CONSTRAINT));
 
         ClientProfileUpdateRequest dto = validClientProfileUpdateRequest();
         dto.setEmailAddress("existing@example.com");
@@ -147,11 +356,11 @@ public class ClientProfileServiceTest {
     @Test
     void shouldFailPhoneNumberNotUniqueConstraint() {
         UUID clientId = UUID.randomUUID();
-        ClientProfile existing = new ClientProfile();
+        ClientProfile existing = validClientProfile();
         existing.setClientId(clientId);
 
         when(mockRepo.findById(clientId)).thenReturn(Optional.of(existing));
-        when(mockRepo.existsByPhoneNumberAndClientIdNot("+6512345678", clientId)).thenReturn(true);
+        when(mockRepo.saveAndFlush(existing)).thenThrow(uniqueViolation(ClientProfile.PHONE_UNIQUE_CONSTRAINT));
 
         ClientProfileUpdateRequest dto = validClientProfileUpdateRequest();
         dto.setPhoneNumber("+6512345678");
@@ -164,12 +373,14 @@ public class ClientProfileServiceTest {
     @Test
     void shouldFailBothEmailAndPhoneNotUnique() {
         UUID clientId = UUID.randomUUID();
-        ClientProfile existing = new ClientProfile();
+        ClientProfile existing = validClientProfile();
         existing.setClientId(clientId);
 
         when(mockRepo.findById(clientId)).thenReturn(Optional.of(existing));
-        when(mockRepo.existsByEmailAddressAndClientIdNot("existing@example.com", clientId)).thenReturn(true);
-        when(mockRepo.existsByPhoneNumberAndClientIdNot("+6512345678", clientId)).thenReturn(true);
+        when(mockRepo.saveAndFlush(existing)).thenThrow(uniqueViolation(ClientProfile.PHONE_UNIQUE_CONSTRAINT));
+        ClientContactDetails otherClient = contact("existing@example.com", "+6512345678");
+        when(mockRepo.findContactsClashingWith("existing@example.com", "+6512345678", clientId))
+                .thenReturn(List.of(otherClient));
 
         ClientProfileUpdateRequest dto = validClientProfileUpdateRequest();
         dto.setEmailAddress("existing@example.com");
@@ -180,6 +391,24 @@ public class ClientProfileServiceTest {
         assertArrayEquals(new String[]{"emailAddress", "phoneNumber"}, exception.getInvalidFields());
     }
 
+    @Test
+    void shouldNotEvictCachedProfile_WhenUpdateViolatesUniqueConstraint() {
+        ClientProfileResponse cached = validClientProfileResponse();
+        UUID clientId = cached.getClientId();
+        ClientProfile existing = validClientProfile();
+        existing.setClientId(clientId);
+        when(mockRepo.findResponseById(clientId, ClientStatusTypes.INACTIVE)).thenReturn(Optional.of(cached));
+        when(mockRepo.findById(clientId)).thenReturn(Optional.of(existing));
+        when(mockRepo.saveAndFlush(existing)).thenThrow(uniqueViolation(ClientProfile.EMAIL_UNIQUE_CONSTRAINT));
+        clientProfileService.getClientProfile(clientId);
+
+        assertThrows(NonUniqueFieldException.class,
+                () -> clientProfileService.updateClientProfile(clientId, validClientProfileUpdateRequest(), "test-user"));
+        clientProfileService.getClientProfile(clientId);
+
+        verify(mockRepo, times(1)).findResponseById(clientId, ClientStatusTypes.INACTIVE);
+    }
+
     @Test
     void shouldIgnoreNullFieldsDuringUpdate() {
         UUID clientId = UUID.randomUUID();
@@ -188,9 +417,7 @@ public class ClientProfileServiceTest {
         existing.setFirstName("OldName");
 
         when(mockRepo.findById(clientId)).thenReturn(Optional.of(existing));
-        when(mockRepo.existsByEmailAddressAndClientIdNot(null, clientId)).thenReturn(false);
-        when(mockRepo.existsByPhoneNumberAndClientIdNot(null, clientId)).thenReturn(false);
-        when(mockRepo.save(existing)).thenReturn(existing);
+        when(mockRepo.saveAndFlush(existing)).thenReturn(existing);
 
         ClientProfileUpdateRequest dto = new ClientProfileUpdateRequest();
         dto.setFirstName(null);
@@ -199,6 +426,25 @@ public class ClientProfileServiceTest {
         assertEquals("OldName", response.getFirstName());
     }
 
+    @Test
+    void shouldSkipWriteAndAudit_WhenUpdateChangesNothing() {
+        UUID clientId = UUID.randomUUID();
+        ClientProfile existing = validClientProfile();
+        existing.setClientId(clientId);
+        when(mockRepo.findById(clientId)).thenReturn(Optional.of(existing));
+
+        ClientProfileUpdateRequest dto = new ClientProfileUpdateRequest();
+        dto.setFirstName(existing.getFirstName());
+        dto.setEmailAddress(existing.getEmailAddress());
+
+        ClientProfileResponse response = clientProfileService.updateClientProfile(clientId, dto, "test-user");
+
+        assertEquals(existing.getEmailAddress(), response.getEmailAddress());
+        verify(mockRepo, never()).saveAndFlush(any());
+        verify(mockLoggingService, never())
+                .sendUpdateLog(anyString(), anyString(), anyString(), anyString(), anyString(), anyString());
+    }
+
     @Test
     void shouldNotFailUniquenessIfBelongsToSameClient() {
         UUID clientId = UUID.randomUUID();
@@ -208,9 +454,7 @@ public class ClientProfileServiceTest {
         existing.setPhoneNumber("+6512345678");
 
         when(mockRepo.findById(clientId)).thenReturn(Optional.of(existing));
-        when(mockRepo.existsByEmailAddressAndClientIdNot("existing@example.com", clientId)).thenReturn(false);
-        when(mockRepo.existsByPhoneNumberAndClientIdNot("+6512345678", clientId)).thenReturn(false);
-        when(mockRepo.save(existing)).thenReturn(existing);
+        when(mockRepo.saveAndFlush(existing)).thenReturn(existing);
 
         ClientProfileUpdateRequest dto = validClientProfileUpdateRequest();
         dto.setEmailAddress("existing@example.com");
@@ -222,20 +466,113 @@ public class ClientProfileServiceTest {
         assertEquals("+6512345678", response.getPhoneNumber());
     }
 
+    @Test
+    void shouldRejectUpdate_WhenIfMatchVersionIsStale() {
+        UUID clientId = UUID.randomUUID();
+        ClientProfile existing = validClientProfile();
+        existing.setClientId(clientId);
+        existing.setVersion(3L);
+        when(mockRepo.findById(clientId)).thenReturn(Optional.of(existing));
+
+        assertThrows(ClientProfileVersionMismatchException.class, () ->
+                clientProfileService.updateClientProfile(clientId, validClientProfileUpdateRequest(), "test-user", 2L));
+
+        verify(mockRepo, never()).saveAndFlush(any());
+        verify(mockLoggingService, never())
+                .sendUpdateLog(anyString(), anyString(), anyString(), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void shouldRetryUpdate_WhenConcurrentWriteLeftRequestedFieldsAlone() {
+        UUID clientId = UUID.randomUUID();
+        ClientProfile firstRead = validClientProfile();
+        ClientProfile secondRead = validClientProfile();
+        // e.g. an agent put the client back to PENDING in between
+        secondRead.setStatus(ClientStatusTypes.PENDING);
+        when(mockRepo.findById(clientId)).thenReturn(Optional.of(firstRead), Optional.of(secondRead));
+        when(mockRepo.saveAndFlush(any(ClientProfile.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(ClientProfile.class, clientId))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        ClientProfileUpdateRequest dto = ClientProfileUpdateRequest.builder().city("Penang").build();
+        ClientProfileResponse response = clientProfileService.updateClientProfile(clientId, dto, "test-user");
+
+        assertEquals("Penang", response.getCity());
+        assertEquals(ClientStatusTypes.PENDING, response.getStatus());
+        verify(mockLoggingService, times(1))
+                .sendUpdateLog(anyString(), anyString(), eq("City"), anyString(), eq("Penang"), anyString());
+    }
+
+    @Test
+    void shouldReportConflict_WhenConcurrentWriteChangedRequestedField() {
+        UUID clientId = UUID.randomUUID();
+        ClientProfile firstRead = validClientProfile();
+        ClientProfile secondRead = validClientProfile();
+        secondRead.setCity("Kuala Lumpur");
+        when(mockRepo.findById(clientId)).thenReturn(Optional.of(firstRead), Optional.of(secondRead));
+        when(mockRepo.saveAndFlush(any(ClientProfile.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(ClientProfile.class, clientId));
+
+        ClientProfileUpdateRequest dto = ClientProfileUpdateRequest.builder().city("Penang").build();
+        assertThrows(ClientProfileConflictException.class, () ->
+                clientProfileService.updateClientProfile(clientId, dto, "test-user"));
+
+        verify(mockRepo, times(1)).saveAndFlush(any());
+        verify(mockLoggingService, never())
+                .sendUpdateLog(anyString(), anyString(), anyString(), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void shouldFailPrecondition_WhenVersionCheckFailsOnWriteWithIfMatch() {
+        UUID clientId = UUID.randomUUID();
+        ClientProfile existing = validClientProfile();
+        existing.setVersion(3L);
+        when(mockRepo.findById(clientId)).thenReturn(Optional.of(existing));
+        when(mockRepo.saveAndFlush(existing))
+                .thenThrow(new ObjectOptimisticLockingFailureException(ClientProfile.class, clientId));
+
+        ClientProfileUpdateRequest dto = ClientProfileUpdateRequest.builder().city("Penang").build();
+        assertThrows(ClientProfileVersionMismatchException.class, () ->
+                clientProfileService.updateClientProfile(clientId, dto, "test-user", 3L));
+
+        verify(mockRepo, times(1)).findById(clientId);
+    }
+
+    @Test
+    void shouldAnswerVersionFromCacheOrVersionOnlyQuery() {
+        ClientProfileResponse cached = validClientProfileResponse();
+        cached.setVersion(7L);
+        when(mockRepo.findResponseById(cached.getClientId(), ClientStatusTypes.INACTIVE)).thenReturn(Optional.of(cached));
+        clientProfileService.getClientProfile(cached.getClientId());
+
+        assertEquals(7L, clientProfileService.getClientProfileVersion(cached.getClientId()).getVersion());
+        verify(mockRepo, never()).findVersionById(any());
+
+        UUID uncached = UUID.randomUUID();
+        when(mockRepo.findVersionById(uncached)).thenReturn(Optional.of(new ClientProfileVersion(2L, Instant.EPOCH)));
+        assertEquals(2L, clientProfileService.getClientProfileVersion(uncached).getVersion());
+        verify(mockRepo, never()).findResponseById(uncached, ClientStatusTypes.INACTIVE);
+
+        UUID missing = UUID.randomUUID();
+        when(mockRepo.findVersionById(missing)).thenReturn(Optional.empty());
+        assertThrows(ClientNotFoundException.class, () -> clientProfileService.getClientProfileVersion(missing));
+    }
+
     @Test
     void shouldGetClientProfileSuccessfully() {
         UUID id = UUID.randomUUID();
-        ClientProfile existing = new ClientProfile();
+        ClientProfileResponse existing = new ClientProfileResponse();
         existing.setClientId(id);
-        when(mockRepo.findById(id)).thenReturn(Optional.of(existing));
-        ClientProfile result = clientProfileService.getClientProfile(id);
+        when(mockRepo.findResponseById(id, ClientStatusTypes.INACTIVE)).thenReturn(Optional.of(existing));
+        ClientProfileResponse result = clientProfileService.getClientProfile(id);
         assertEquals(id, result.getClientId());
+        verify(mockRepo, never()).findById(any());
     }
 
     @Test
     void shouldFailClientNotFoundOnFetch() {
         UUID id = UUID.randomUUID();
-        when(mockRepo.findById(id)).thenReturn(Optional.empty());
+        when(mockRepo.findResponseById(id, ClientStatusTypes.INACTIVE)).thenReturn(Optional.empty());
         assertThrows(ClientNotFoundException.class,
                 () -> clientProfileService.getClientProfile(id));
     }
@@ -243,27 +580,21 @@ public class ClientProfileServiceTest {
     @Test
     void shouldUpdateClientStatusToActiveIfPending() {
         UUID clientId = UUID.randomUUID();
-        ClientProfile client = validClientProfile();
-        client.setClientId(clientId);
-        client.setStatus(ClientStatusTypes.PENDING);
-
-        when(mockRepo.findById(clientId)).thenReturn(Optional.of(client));
-        when(mockRepo.save(client)).thenReturn(client);
+        when(mockRepo.transitionStatus(clientId, EnumSet.of(ClientStatusTypes.PENDING), ClientStatusTypes.ACTIVE))
+                .thenReturn(1);
 
         ClientStatusResponse response = clientProfileService.updateClientStatus(clientId, true, "test-user");
         assertEquals("ACTIVE", response.getStatus());
         assertEquals(clientId, response.getClientId());
+        verify(mockRepo, never()).findById(any());
+        verify(mockRepo, never()).save(any());
     }
 
     @Test
     void shouldUpdateClientStatusToInactiveIfPending() {
         UUID clientId = UUID.randomUUID();
-        ClientProfile client = validClientProfile();
-        client.setClientId(clientId);
-        client.setStatus(ClientStatusTypes.PENDING);
-
-        when(mockRepo.findById(clientId)).thenReturn(Optional.of(client));
-        when(mockRepo.save(client)).thenReturn(client);
+        when(mockRepo.transitionStatus(clientId, EnumSet.of(ClientStatusTypes.PENDING), ClientStatusTypes.INACTIVE))
+                .thenReturn(1);
 
         ClientStatusResponse response = clientProfileService.updateClientStatus(clientId, false, "test-user");
         assertEquals("INACTIVE", response.getStatus());
@@ -271,62 +602,295 @@ public class ClientProfileServiceTest {
     }
 
     @Test
-    void shouldThrowExceptionIfClientCurrentlyActive() {
+    void shouldThrowExceptionIfClientNotPending() {
         UUID clientId = UUID.randomUUID();
-        ClientProfile client = new ClientProfile();
-        client.setClientId(clientId);
-        client.setStatus(ClientStatusTypes.ACTIVE);
-
-        when(mockRepo.findById(clientId)).thenReturn(Optional.of(client));
+        when(mockRepo.transitionStatus(eq(clientId), any(), any())).thenReturn(0);
+        when(mockRepo.existsById(clientId)).thenReturn(true);
 
         ClientNotPendingException ex = assertThrows(ClientNotPendingException.class,
                 () -> clientProfileService.updateClientStatus(clientId, true, "test-user"));
 
         assertEquals("Client status must be PENDING to verify", ex.getMessage());
+        verify(mockLoggingService, never())
+                .sendUpdateLog(anyString(), anyString(), anyString(), anyString(), anyString(), anyString());
     }
 
     @Test
-    void shouldThrowExceptionIfClientCurrentlyInActive() {
+    void shouldThrowClientNotFoundWhenUpdatingStatus() {
         UUID clientId = UUID.randomUUID();
-        ClientProfile client = new ClientProfile();
-        client.setClientId(clientId);
-        client.setStatus(ClientStatusTypes.INACTIVE);
+        when(mockRepo.transitionStatus(eq(clientId), any(), any())).thenReturn(0);
+        when(mockRepo.existsById(clientId)).thenReturn(false);
 
-        when(mockRepo.findById(clientId)).thenReturn(Optional.of(client));
-
-        ClientNotPendingException ex = assertThrows(ClientNotPendingException.class,
+        assertThrows(ClientNotFoundException.class,
                 () -> clientProfileService.updateClientStatus(clientId, true, "test-user"));
+    }
 
-        assertEquals("Client status must be PENDING to verify", ex.getMessage());
+    void shouldFailClientStatusInactiveOnFetch() {
+        UUID clientId = UUID.randomUUID();
+        when(mockRepo.findResponseById(clientId, ClientStatusTypes.INACTIVE)).thenReturn(Optional.empty());
+        assertThrows(ClientNotFoundException.class,
+                () -> clientProfileService.getClientProfile(clientId));
     }
 
     @Test
-    void shouldThrowClientNotFoundWhenUpdatingStatus() {
+    void shouldDeleteClientProfileSuccessfully() {
         UUID clientId = UUID.randomUUID();
-        when(mockRepo.findById(clientId)).thenReturn(Optional.empty());
+        when(mockRepo.transitionStatus(clientId,
+                EnumSet.of(ClientStatusTypes.PENDING, ClientStatusTypes.ACTIVE), ClientStatusTypes.INACTIVE))
+                .thenReturn(1);
 
-        assertThrows(ClientNotFoundException.class,
-                () -> clientProfileService.updateClientStatus(clientId, true, "test-user"));
+        clientProfileService.deleteClientProfile(clientId, "test-user");
+
+        verify(mockLoggingService).sendDeleteLog(eq("test-user"), eq(clientId.toString()), 
+                eq("Client profile with ID " + clientId + " deleted by agent test-user."));
+        verify(mockSuggestionIndex).remove(clientId);
+        verify(mockRepo, never()).findById(any());
     }
 
-    void shouldFailClientStatusInactiveOnFetch() {
+    @Test
+    void shouldFailClientNotFoundOnDelete_WhenAlreadyInactiveOrMissing() {
         UUID clientId = UUID.randomUUID();
-        ClientProfile existing = validClientProfile();
-        existing.setClientId(clientId);
-        existing.setStatus(ClientStatusTypes.INACTIVE);
-        when(mockRepo.findById(clientId)).thenReturn(Optional.of(existing));
+        when(mockRepo.transitionStatus(eq(clientId), any(), any())).thenReturn(0);
+
         assertThrows(ClientNotFoundException.class,
-                () -> clientProfileService.getClientProfile(clientId));
+                () -> clientProfileService.deleteClientProfile(clientId, "test-user"));
+        verify(mockLoggingService, never()).sendDeleteLog(anyString(), anyString(), anyString());
     }
 
     @Test
-    void shouldDeleteClientProfileSuccessfully() {
+    void shouldGetAgentPortfolioWithoutLoadingWholeTable() {
+        ClientProfileResponse client = validClientProfileResponse();
+        when(mockRepo.findActiveByAgentId("test-agent-id"))
+                .thenReturn(List.of(client));
+
+        List<ClientProfileResponse> result = clientProfileService.getClientProfiles("test-agent-id");
+
+        assertEquals(List.of(client), result);
+        verify(mockRepo, never()).findAll();
+        verify(mockLoggingService).sendReadLogs(eq("test-agent-id"), eq(List.of(client.getClientId())), anyString());
+    }
+
+    @Test
+    void shouldPageAgentPortfolioAndAuditOnlyClientsOnThePage() {
+        ClientProfileResponse first = validClientProfileResponse();
+        ClientProfileResponse second = validClientProfileResponse();
+        ClientProfileResponse third = validClientProfileResponse();
+        when(mockRepo.findActiveFirstPageByAgentId("test-agent-id", Limit.of(3)))
+                .thenReturn(List.of(first, second, third));
+
+        ClientProfilePage page = clientProfileService.getClientProfilePage("test-agent-id", null, 2);
+
+        assertEquals(List.of(first, second), page.getItems());
+        assertEquals(second.getClientId(), page.getNext());
+        verify(mockLoggingService).sendReadLogs(eq("test-agent-id"),
+                eq(List.of(first.getClientId(), second.getClientId())), anyString());
+    }
+
+    @Test
+    void shouldSeekPastCursorInAgentPortfolio_AndSkipAuditOfEmptyPage() {
+        UUID after = UUID.randomUUID();
+        when(mockRepo.findActivePageByAgentIdAfter("test-agent-id", after, Limit.of(3))).thenReturn(List.of());
+
+        ClientProfilePage page = clientProfileService.getClientProfilePage("test-agent-id", after, 2);
+
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNext());
+        verify(mockLoggingService, never()).sendReadLogs(anyString(), any(), anyString());
+    }
+
+    @Test
+    void shouldGetProfilesByIdsFromCacheAndOneQueryForTheRest() {
+        ClientProfileResponse cached = validClientProfileResponse();
+        ClientProfileResponse uncached = validClientProfileResponse();
+        UUID missing = UUID.randomUUID();
+        when(mockRepo.findResponseById(cached.getClientId(), ClientStatusTypes.INACTIVE)).thenReturn(Optional.of(cached));
+        clientProfileService.getClientProfile(cached.getClientId());
+        when(mockRepo.findActiveResponsesByIds(List.of(uncached.getClientId(), missing))).thenReturn(List.of(uncached));
+
+        List<ClientProfileResponse> result = clientProfileService.getClientProfiles(
+                List.of(uncached.getClientId(), cached.getClientId(), missing, uncached.getClientId()), "peer-service");
+
+        assertEquals(List.of(uncached, cached), result);
+        verify(mockRepo, times(1)).findActiveResponsesByIds(any());
+        // Only what was returned is audited
+        verify(mockLoggingService).sendReadLogs(eq("peer-service"),
+                eq(List.of(uncached.getClientId(), cached.getClientId())), anyString());
+    }
+
+    @Test
+    void shouldRejectIdBatchAboveMaximumSize() {
+        List<UUID> clientIds = Stream.generate(UUID::randomUUID)
+                .limit(ClientProfileService.MAX_BULK_SIZE + 1)
+                .toList();
+
+        assertThrows(BatchSizeExceededException.class, () -> clientProfileService.getClientProfiles(clientIds, "peer-service"));
+        verify(mockRepo, never()).findActiveResponsesByIds(any());
+    }
+
+    @Test
+    void shouldReturnFirstPageWithNextCursor_WhenMoreRowsRemain() {
+        ClientProfileResponse first = validClientProfileResponse();
+        ClientProfileResponse second = validClientProfileResponse();
+        ClientProfileResponse third = validClientProfileResponse();
+        when(mockRepo.findFirstPage(ClientStatusTypes.INACTIVE, Limit.of(3)))
+                .thenReturn(List.of(first, second, third));
+
+        ClientProfilePage page = clientProfileService.getClientProfilePage(null, 2);
+
+        assertEquals(List.of(first, second), page.getItems());
+        assertEquals(second.getClientId(), page.getNext());
+    }
+
+    @Test
+    void shouldSeekPastCursorAndEndPagination_WhenLastPageReached() {
+        UUID after = UUID.randomUUID();
+        ClientProfileResponse last = validClientProfileResponse();
+        when(mockRepo.findPageAfter(after, ClientStatusTypes.INACTIVE, Limit.of(3)))
+                .thenReturn(List.of(last));
+
+        ClientProfilePage page = clientProfileService.getClientProfilePage(after, 2);
+
+        assertEquals(List.of(last), page.getItems());
+        assertNull(page.getNext());
+    }
+
+    @Test
+    void shouldReturnSearchHitsInScoreOrderWithCursor() {
+        ClientProfileResponse best = validClientProfileResponse();
+        ClientProfileResponse second = validClientProfileResponse();
+        ClientProfileResponse third = validClientProfileResponse();
+        when(mockRepo.searchFirstPage("doe", "%doe%", 3)).thenReturn(List.of(
+                searchHit(best.getClientId(), 0.9f),
+                searchHit(second.getClientId(), 0.5f),
+                searchHit(third.getClientId(), 0.5f)));
+        when(mockRepo.findActiveResponsesByIds(List.of(best.getClientId(), second.getClientId())))
+                .thenReturn(List.of(second, best));
+
+        ClientProfileSearchPage page = clientProfileService.searchClientProfiles(" doe ", null, 2);
+
+        assertEquals(List.of(best, second), page.getItems());
+        assertEquals("0.5:" + second.getClientId(), page.getNext());
+    }
+
+    @Test
+    void shouldSeekPastSearchCursorAndEscapeWildcards() {
+        UUID afterId = UUID.randomUUID();
+        when(mockRepo.searchPageAfter("50%_off", "%50\\%\\_off%", 0.5f, afterId, 21)).thenReturn(List.of());
+
+        ClientProfileSearchPage page = clientProfileService.searchClientProfiles("50%_off", "0.5:" + afterId, 20);
+
+        assertEquals(List.of(), page.getItems());
+        assertNull(page.getNext());
+        verify(mockRepo, never()).findActiveResponsesByIds(any());
+    }
+
+    @Test
+    void shouldRejectShortSearchQueryAndBadCursor() {
+        assertThrows(InvalidSearchQueryException.class,
+                () -> clientProfileService.searchClientProfiles("ab", null, 20));
+        assertThrows(InvalidSearchQueryException.class,
+                () -> clientProfileService.searchClientProfiles("doe", "not-a-cursor", 20));
+        verifyNoInteractions(mockRepo);
+    }
+
+    @Test
+    void shouldClampPageSizeToMaximum() {
+        when(mockRepo.findFirstPage(ClientStatusTypes.INACTIVE, Limit.of(ClientProfileService.MAX_PAGE_SIZE + 1)))
+                .thenReturn(List.of());
+
+        ClientProfilePage page = clientProfileService.getClientProfilePage(null, 1_000_000);
+
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNext());
+    }
+
+    @Test
+    void shouldServeRepeatedReadsFromCache() {
+        ClientProfileResponse cached = validClientProfileResponse();
+        UUID clientId = cached.getClientId();
+        when(mockRepo.findResponseById(clientId, ClientStatusTypes.INACTIVE)).thenReturn(Optional.of(cached));
+
+        clientProfileService.getClientProfile(clientId);
+        ClientProfileResponse result = clientProfileService.getClientProfile(clientId);
+
+        assertEquals(cached, result);
+        verify(mockRepo, times(1)).findResponseById(clientId, ClientStatusTypes.INACTIVE);
+    }
+
+    @Test
+    void shouldNotCacheClientNotFound() {
         UUID clientId = UUID.randomUUID();
+        when(mockRepo.findResponseById(clientId, ClientStatusTypes.INACTIVE)).thenReturn(Optional.empty());
+
+        assertThrows(ClientNotFoundException.class, () -> clientProfileService.getClientProfile(clientId));
+        assertThrows(ClientNotFoundException.class, () -> clientProfileService.getClientProfile(clientId));
+
+        verify(mockRepo, times(2)).findResponseById(clientId, ClientStatusTypes.INACTIVE);
+    }
+
+    @Test
+    void shouldEvictCachedProfileOnUpdate() {
         ClientProfile existing = validClientProfile();
+        UUID clientId = UUID.randomUUID();
         existing.setClientId(clientId);
+        when(mockRepo.findResponseById(clientId, ClientStatusTypes.INACTIVE))
+                .thenReturn(Optional.of(validClientProfileResponse()));
         when(mockRepo.findById(clientId)).thenReturn(Optional.of(existing));
-        when(mockRepo.save(existing)).thenReturn(existing);
-        clientProfileService.deleteClientProfile(clientId, anyString());
-        assertEquals(ClientStatusTypes.INACTIVE, existing.getStatus());
+        when(mockRepo.saveAndFlush(existing)).thenReturn(existing);
+
+        clientProfileService.getClientProfile(clientId);
+        clientProfileService.updateClientProfile(clientId, validClientProfileUpdateRequest(), "test-user");
+        clientProfileService.getClientProfile(clientId);
+
+        verify(mockRepo, times(2)).findResponseById(clientId, ClientStatusTypes.INACTIVE);
+    }
+
+    @Test
+    void shouldEvictCachedProfileOnDeleteAndStatusChange() {
+        UUID clientId = UUID.randomUUID();
+        when(mockRepo.findResponseById(clientId, ClientStatusTypes.INACTIVE))
+                .thenReturn(Optional.of(validClientProfileResponse()));
+        when(mockRepo.transitionStatus(eq(clientId), any(), any())).thenReturn(1);
+
+        clientProfileService.getClientProfile(clientId);
+        clientProfileService.updateClientStatus(clientId, true, "test-user");
+        clientProfileService.getClientProfile(clientId);
+        clientProfileService.deleteClientProfile(clientId, "test-user");
+        clientProfileService.getClientProfile(clientId);
+
+        verify(mockRepo, times(3)).findResponseById(clientId, ClientStatusTypes.INACTIVE);
+    }
+
+    private static ClientProfileSearchHit searchHit(UUID clientId, float score) {
+        return new ClientProfileSearchHit() {
+            @Override
+            public UUID getClientId() {
+                return clientId;
+            }
+
+            @Override
+            public Float getScore() {
+                return score;
+            }
+        };
+    }
+
+    private static DataIntegrityViolationException uniqueViolation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("duplicate key value", new SQLException(), constraintName));
+    }
+
+    private static ClientContactDetails contact(String emailAddress, String phoneNumber) {
+        ClientContactDetails contact = mock(ClientContactDetails.class);
+        when(contact.getEmailAddress()).thenReturn(emailAddress);
+        when(contact.getPhoneNumber()).thenReturn(phoneNumber);
+        return contact;
+    }
+
+    private static ClientProfileCreateRequest bulkRequest(int n) {
+        ClientProfileCreateRequest request = TestDataFactory.validClientProfileCreateRequest();
+        request.setEmailAddress("bulk" + n + "@example.com");
+        request.setPhoneNumber("+659000000" + n);
+        return request;
     }
 }
@@ -0,0 +1,152 @@
+package com.bank.crm.clientservice;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Throughput and latency of the audited portfolio read under high concurrency, with SQS latency
+ * injected into the audit send. Run once per mode and compare:
+ * mvn verify -Dbenchmark=true -Dit.test=ClientProfileVirtualThreadsLoadIT -Dbenchmark.virtual=false
+ * mvn verify -Dbenchmark=true -Dit.test=ClientProfileVirtualThreadsLoadIT -Dbenchmark.virtual=true
+ * [-Dbenchmark.concurrency=1000] [-Dbenchmark.requests=20000] [-Dbenchmark.sqs-latency-ms=50]
+ */
+@Testcontainers
+@Import(TestcontainersConfiguration.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.profiles.active=test",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.bank.crm.clientservice.services.LoggingService=WARN",
+        "logging.level.com.bank.crm.clientservice.services.AuditLogSender=WARN",
+        "spring.threads.virtual.enabled=${benchmark.virtual:false}",
+        "aws.sqs.logging-queue-url=http://localhost:4566/000000000000/test-queue",
+        "aws.sqs.verification_request_queue_url=http://localhost:4566/000000000000/test-verification-request-queue",
+        "aws.sqs.verification_results_queue_url=http://localhost:4566/000000000000/test-verification-results-queue",
+        "verification.polling.enabled=false",
+        "grpc.server.port=0"
+})
+class ClientProfileVirtualThreadsLoadIT {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientProfileVirtualThreadsLoadIT.class);
+
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 1_000);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 20_000);
+    private static final long SQS_LATENCY_MS = Long.getLong("benchmark.sqs-latency-ms", 50);
+    private static final int AGENTS = 200;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SqsClient sqsClient;
+
+    @BeforeAll
+    void seedAndSlowDownSqs() {
+        jdbcTemplate.update("""
+                INSERT INTO client_profile (client_id, first_name, last_name, date_of_birth, gender,
+                        email_address, phone_number, address, city, state, country, postal_code, status, agent_id)
+                SELECT gen_random_uuid(), 'Load', 'Client', DATE '1990-01-01', 'MALE',
+                        'load' || g || '@example.com', '+67' || lpad(g::text, 10, '0'),
+                        '1 Load Road', 'Singapore', 'Singapore', 'SG', '123456',
+                        CAST('ACTIVE' AS client_status_types), 'load-agent-' || (g % ?)
+                FROM generate_series(1, ?) AS g
+                """, AGENTS, AGENTS * 5);
+
+        when(sqsClient.sendMessageBatch(any(SendMessageBatchRequest.class))).thenAnswer(invocation -> {
+            Thread.sleep(SQS_LATENCY_MS);
+            SendMessageBatchRequest request = invocation.getArgument(0);
+            return SendMessageBatchResponse.builder()
+                    .successful(request.entries().stream()
+                            .map(entry -> SendMessageBatchResultEntry.builder().id(entry.id()).messageId("load-test").build())
+                            .toList())
+                    .build();
+        });
+    }
+
+    @Test
+    void auditedPortfolioReadsUnderLoad() throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        AtomicInteger rejected = new AtomicInteger();
+        long[] latenciesNanos = new long[REQUESTS];
+
+        long start = System.nanoTime();
+        List<Future<Integer>> results = new ArrayList<>(REQUESTS);
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < REQUESTS; i++) {
+                int request = i;
+                inFlight.acquire();
+                results.add(callers.submit(() -> {
+                    try {
+                        HttpRequest post = HttpRequest.newBuilder(URI.create("http://localhost:" + port
+                                        + "/client-profile/batch?userId=load-agent-" + (request % AGENTS)))
+                                .POST(HttpRequest.BodyPublishers.noBody())
+                                .build();
+                        long sent = System.nanoTime();
+                        int status = client.send(post, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        latenciesNanos[request] = System.nanoTime() - sent;
+                        if (status == 503) {
+                            rejected.incrementAndGet();
+                        }
+                        return status;
+                    } finally {
+                        inFlight.release();
+                    }
+                }));
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        for (Future<Integer> result : results) {
+            int status = result.get();
+            if (status != 503) {
+                assertEquals(200, status);
+            }
+        }
+        Arrays.sort(latenciesNanos);
+        logger.info("{} threads, {} concurrent, SQS latency {} ms: {} requests/s, p50={} ms, p99={} ms, rejected={}",
+                Boolean.getBoolean("benchmark.virtual") ? "virtual" : "platform",
+                CONCURRENCY,
+                SQS_LATENCY_MS,
+                Math.round(REQUESTS / elapsedSeconds),
+                latenciesNanos[REQUESTS / 2] / 1_000_000.0,
+                latenciesNanos[(int) Math.ceil(REQUESTS * 0.99) - 1] / 1_000_000.0,
+                rejected.get());
+    }
+}
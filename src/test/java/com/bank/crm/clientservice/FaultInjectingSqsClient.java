@@ -0,0 +1,82 @@
+package com.bank.crm.clientservice;
+
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+
+/**
+ * SqsClient for fault tests: keeps every body it accepted, in order, and can be made slow,
+ * unavailable, or to fail chosen entries. Only SendMessageBatch is supported.
+ */
+class FaultInjectingSqsClient implements SqsClient {
+
+    private final List<String> delivered = new CopyOnWriteArrayList<>();
+    private volatile boolean unavailable;
+    private volatile long latencyMs;
+    private volatile Predicate<String> failing = body -> false;
+
+    void setUnavailable(boolean unavailable) {
+        this.unavailable = unavailable;
+    }
+
+    void setLatencyMs(long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+
+    /**
+     * Entries whose body matches are failed as a server-side error, so the sender keeps them
+     */
+    void failEntries(Predicate<String> failing) {
+        this.failing = failing;
+    }
+
+    List<String> delivered() {
+        return List.copyOf(delivered);
+    }
+
+    @Override
+    public SendMessageBatchResponse sendMessageBatch(SendMessageBatchRequest request) {
+        if (latencyMs > 0) {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw SdkClientException.create("Interrupted", e);
+            }
+        }
+        if (unavailable) {
+            throw SdkClientException.create("Injected fault: SQS unavailable");
+        }
+
+        List<SendMessageBatchResultEntry> successful = new ArrayList<>();
+        List<BatchResultErrorEntry> failed = new ArrayList<>();
+        for (SendMessageBatchRequestEntry entry : request.entries()) {
+            if (failing.test(entry.messageBody())) {
+                failed.add(BatchResultErrorEntry.builder()
+                        .id(entry.id()).code("InternalError").message("Injected fault").senderFault(false).build());
+            } else {
+                delivered.add(entry.messageBody());
+                successful.add(SendMessageBatchResultEntry.builder().id(entry.id()).messageId("m-" + entry.id()).build());
+            }
+        }
+        return SendMessageBatchResponse.builder().successful(successful).failed(failed).build();
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+}
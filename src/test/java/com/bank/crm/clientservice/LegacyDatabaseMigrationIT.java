@@ -0,0 +1,101 @@
+package com.bank.crm.clientservice;
+
+import com.bank.crm.clientservice.dto.ClientProfileCreateRequest;
+import com.bank.crm.clientservice.exceptions.NonUniqueFieldException;
+import com.bank.crm.clientservice.models.ClientProfile;
+import com.bank.crm.clientservice.services.ClientProfileService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import org.testcontainers.utility.MountableFile;
+import software.amazon.awssdk.services.sqs.SqsClient;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A database created from db-init/init.sql as it was before the Flyway migrations, baselined at V1
+ * and migrated on startup. Uniqueness violations must still map back to their fields.
+ */
+@Testcontainers
+@Import(LegacyDatabaseMigrationIT.LegacyDatabaseConfiguration.class)
+@SpringBootTest(properties = {
+        "spring.profiles.active=test",
+        "aws.sqs.logging-queue-url=http://localhost:4566/000000000000/test-queue",
+        "aws.sqs.verification_request_queue_url=http://localhost:4566/000000000000/test-verification-request-queue",
+        "aws.sqs.verification_results_queue_url=http://localhost:4566/000000000000/test-verification-results-queue",
+        "verification.polling.enabled=false",
+        "grpc.server.port=0",
+        "audit.outbox.relay.enabled=false"
+})
+class LegacyDatabaseMigrationIT {
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class LegacyDatabaseConfiguration {
+
+        @Bean
+        @ServiceConnection
+        PostgreSQLContainer<?> legacyPostgresContainer() {
+            // Run by the image's entrypoint, as docker-compose did
+            return new PostgreSQLContainer<>(DockerImageName.parse("postgres:17.0"))
+                    .withCopyFileToContainer(MountableFile.forClasspathResource("db/pre-migration-init.sql"),
+                            "/docker-entrypoint-initdb.d/init.sql");
+        }
+    }
+
+    @MockitoBean
+    private SqsClient sqsClient;
+
+    @Autowired
+    private ClientProfileService clientProfileService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void baselinedDatabaseIsMigratedFromV2() {
+        assertEquals("1", jdbcTemplate.queryForObject(
+                "SELECT version FROM flyway_schema_history WHERE type = 'BASELINE'", String.class));
+
+        List<String> constraints = jdbcTemplate.queryForList(
+                "SELECT conname FROM pg_constraint WHERE conrelid = 'client_profile'::regclass AND contype = 'u'",
+                String.class);
+        assertTrue(constraints.contains(ClientProfile.PHONE_UNIQUE_CONSTRAINT), constraints.toString());
+        assertFalse(constraints.contains("client_profile_phone_number_key"), constraints.toString());
+    }
+
+    @Test
+    void duplicatePhoneIsReportedAsNonUniqueField() {
+        ClientProfileCreateRequest request = TestDataFactory.validClientProfileCreateRequest();
+        request.setEmailAddress("legacy.phone@example.com");
+        // Alice Johnson's number in the seed data
+        request.setPhoneNumber("+12025550101");
+
+        NonUniqueFieldException e = assertThrows(NonUniqueFieldException.class,
+                () -> clientProfileService.createClientProfile(request, "legacy-agent"));
+
+        assertArrayEquals(new String[]{"phoneNumber"}, e.getInvalidFields());
+    }
+
+    @Test
+    void duplicateEmailIsReportedAsNonUniqueField() {
+        ClientProfileCreateRequest request = TestDataFactory.validClientProfileCreateRequest();
+        request.setEmailAddress("ALICE.JOHNSON@email.com");
+        request.setPhoneNumber("+6591230000");
+
+        NonUniqueFieldException e = assertThrows(NonUniqueFieldException.class,
+                () -> clientProfileService.createClientProfile(request, "legacy-agent"));
+
+        assertArrayEquals(new String[]{"emailAddress"}, e.getInvalidFields());
+    }
+}
@@ -0,0 +1,79 @@
+package com.bank.crm.clientservice;
+
+import com.bank.crm.clientservice.repositories.AuditOutboxRepository;
+import com.bank.crm.clientservice.services.AuditEventEncoder;
+import com.bank.crm.clientservice.services.LoggingService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class LoggingServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private AuditOutboxRepository auditOutboxRepository;
+    private LoggingService loggingService;
+
+    @BeforeEach
+    void setUp() {
+        auditOutboxRepository = mock(AuditOutboxRepository.class);
+        loggingService = new LoggingService(new AuditEventEncoder(objectMapper), auditOutboxRepository, 1_000);
+    }
+
+    @Test
+    void shouldWriteSmallReadLogAsOneMessageInListFormat() throws Exception {
+        List<UUID> clientIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+        loggingService.sendReadLogs("agent-1", clientIds, "Batch retrieval");
+
+        List<Map<String, Object>> messages = appendedMessages();
+        assertEquals(1, messages.size());
+        assertEquals(clientIds.toString(), messages.get(0).get("client_id"));
+        assertFalse(messages.get(0).containsKey("correlation_id"));
+    }
+
+    @Test
+    void shouldSplitLargeReadLogIntoCorrelatedParts() throws Exception {
+        List<UUID> clientIds = IntStream.range(0, 2_500).mapToObj(i -> UUID.randomUUID()).toList();
+
+        loggingService.sendReadLogs("agent-1", clientIds, "Batch retrieval");
+
+        List<Map<String, Object>> messages = appendedMessages();
+        assertEquals(3, messages.size());
+        List<String> joined = new ArrayList<>();
+        for (int i = 0; i < messages.size(); i++) {
+            Map<String, Object> message = messages.get(i);
+            assertEquals(messages.get(0).get("correlation_id"), message.get("correlation_id"));
+            assertEquals(i + 1, message.get("sequence"));
+            assertEquals(3, message.get("total"));
+            assertEquals("Read", message.get("crud_operation"));
+            String ids = (String) message.get("client_id");
+            joined.addAll(List.of(ids.substring(1, ids.length() - 1).split(", ")));
+        }
+        assertNotNull(messages.get(0).get("correlation_id"));
+        assertEquals(clientIds.stream().map(UUID::toString).toList(), joined);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> appendedMessages() throws Exception {
+        ArgumentCaptor<List<String>> captor = ArgumentCaptor.forClass(List.class);
+        // All parts go to the outbox in one batch
+        verify(auditOutboxRepository).append(captor.capture());
+        List<Map<String, Object>> messages = new ArrayList<>();
+        for (String payload : captor.getValue()) {
+            messages.add(objectMapper.readValue(payload, new TypeReference<>() {}));
+        }
+        return messages;
+    }
+}
@@ -1,12 +1,14 @@
 package com.bank.crm.clientservice;
 
 import com.bank.crm.clientservice.dto.ClientProfileCreateRequest;
+import com.bank.crm.clientservice.dto.ClientProfileResponse;
 import com.bank.crm.clientservice.dto.ClientProfileUpdateRequest;
 import com.bank.crm.clientservice.models.ClientProfile;
 import com.bank.crm.clientservice.models.enums.ClientStatusTypes;
 import com.bank.crm.clientservice.models.enums.GenderTypes;
 
 import java.time.LocalDate;
+import java.util.UUID;
 
 public class TestDataFactory {
     public static ClientProfileUpdateRequest validClientProfileUpdateRequest() {
@@ -58,4 +60,23 @@ public class TestDataFactory {
                 .postalCode("1234")
                 .build();
     }
+
+    public static ClientProfileResponse validClientProfileResponse() {
+        return ClientProfileResponse.builder()
+                .clientId(UUID.randomUUID())
+                .firstName("John")
+                .lastName("Doe")
+                .dateOfBirth(LocalDate.of(1990, 1, 15))
+                .gender(GenderTypes.MALE)
+                .emailAddress("john.doe@example.com")
+                .phoneNumber("+6298765432")
+                .address("123 Example Street")
+                .city("Johor Bahru")
+                .state("Johor")
+                .country("MY")
+                .postalCode("12345")
+                .status(ClientStatusTypes.ACTIVE)
+                .agentId("test-agent-id")
+                .build();
+    }
 }
@@ -7,6 +7,9 @@ import org.springframework.context.annotation.Primary;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.utility.DockerImageName;
 import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
 import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
 import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
 
@@ -38,6 +41,19 @@ public class TestcontainersConfiguration {
         when(mockSqsClient.sendMessage(any(SendMessageRequest.class)))
                 .thenReturn(mockResponse);
 
+        when(mockSqsClient.sendMessageBatch(any(SendMessageBatchRequest.class)))
+                .thenAnswer(invocation -> {
+                    SendMessageBatchRequest request = invocation.getArgument(0);
+                    return SendMessageBatchResponse.builder()
+                            .successful(request.entries().stream()
+                                    .map(entry -> SendMessageBatchResultEntry.builder()
+                                            .id(entry.id())
+                                            .messageId("test-message-id")
+                                            .build())
+                                    .toList())
+                            .build();
+                });
+
         // Mock close() method to do nothing
         org.mockito.Mockito.doNothing().when(mockSqsClient).close();
 